@@ -0,0 +1,104 @@
+package com.severo.beerstock.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.enums.BeerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON and CBOR serialization time for a single beer and a page sized list of beers. Payload sizes are
+ * printed during setup, since they do not change between iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeerDTOSerializationBenchmark {
+
+    private static final int LIST_SIZE = 200;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ObjectWriter listWriter;
+    private ObjectReader listReader;
+    private BeerDTO beerDTO;
+    private List<BeerDTO> beerDTOs;
+    private byte[] payload;
+    private byte[] listPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(BeerDTO.class);
+        reader = objectMapper.readerFor(BeerDTO.class);
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BeerDTO.class));
+        listReader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BeerDTO.class));
+        beerDTO = newBeerDTO(1L, "Brahma");
+        beerDTOs = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            beerDTOs.add(newBeerDTO((long) i, "Beer " + i));
+        }
+        payload = writer.writeValueAsBytes(beerDTO);
+        listPayload = listWriter.writeValueAsBytes(beerDTOs);
+        System.out.printf("%n%s payload: %d bytes for one beer, %d bytes for %d beers%n",
+                format, payload.length, listPayload.length, LIST_SIZE);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(beerDTO);
+    }
+
+    @Benchmark
+    public BeerDTO deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return listWriter.writeValueAsBytes(beerDTOs);
+    }
+
+    @Benchmark
+    public List<BeerDTO> deserializeList() throws IOException {
+        return listReader.readValue(listPayload);
+    }
+
+    private static BeerDTO newBeerDTO(Long id, String name) {
+        return BeerDTO.builder()
+                .id(id)
+                .name(name)
+                .brand("Ambev")
+                .max(50)
+                .quantity(10)
+                .reorderThreshold(5)
+                .type(BeerType.LAGER)
+                .version(1L)
+                .build();
+    }
+}
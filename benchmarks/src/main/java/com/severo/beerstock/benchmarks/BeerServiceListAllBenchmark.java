@@ -0,0 +1,78 @@
+package com.severo.beerstock.benchmarks;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerFilterDTO;
+import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
+import com.severo.beerstock.service.BeerCatalogSnapshot;
+import com.severo.beerstock.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerServiceListAllBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private BeerCatalogSnapshot beerCatalogSnapshot;
+    private final BeerFilterDTO noFilter = new BeerFilterDTO();
+    private final Pageable firstPage = PageRequest.of(0, 20, Sort.by("id"));
+
+    @Setup
+    public void setUp() throws BeerAlreadyRegisteredException {
+        context = BeerstockContext.start();
+        beerService = context.getBean(BeerService.class);
+        beerCatalogSnapshot = context.getBean(BeerCatalogSnapshot.class);
+        List<BeerDTO> beerDTOs = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            beerDTOs.add(BeerstockContext.newBeer("Beer " + i, 500, i % 100));
+        }
+        BeerstockContext.createBeers(beerService, beerDTOs);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<BeerDTO> listAllUnpaged() {
+        return beerService.listAll(noFilter, Pageable.unpaged());
+    }
+
+    @Benchmark
+    public Page<BeerDTO> listFirstPage() {
+        return beerService.listAll(noFilter, firstPage);
+    }
+
+    @Benchmark
+    public byte[] catalogSnapshot() {
+        return beerCatalogSnapshot.current().getJson();
+    }
+}
@@ -0,0 +1,56 @@
+package com.severo.beerstock.benchmarks;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeerServiceStockBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private Long beerId;
+
+    @Setup
+    public void setUp() throws BeerAlreadyRegisteredException {
+        context = BeerstockContext.start();
+        beerService = context.getBean(BeerService.class);
+        beerId = beerService.createBeer(BeerstockContext.newBeer("Benchmark Beer", Integer.MAX_VALUE, Integer.MAX_VALUE / 2)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDTO increment() throws BeerNotFoundException, BeerStockExceededException {
+        return beerService.increment(beerId, 1);
+    }
+
+    @Benchmark
+    public BeerDTO decrement() throws BeerNotFoundException, BeerStockExceededException {
+        return beerService.decrement(beerId, 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.severo.beerstock.benchmarks;
+
+import com.severo.beerstock.BeerstockApplication;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
+import com.severo.beerstock.service.BeerService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BeerstockContext {
+
+    private static final int INSERT_CHUNK_SIZE = 1000;
+
+    private BeerstockContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BeerstockApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.main.banner-mode=off")
+                .properties(properties)
+                .run();
+    }
+
+    static ConfigurableApplicationContext startWeb(String... properties) {
+        return new SpringApplicationBuilder(BeerstockApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("logging.level.root=WARN", "spring.main.banner-mode=off", "server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    static BeerDTO newBeer(String name, int max, int quantity) {
+        return BeerDTO.builder()
+                .name(name)
+                .brand("Benchmark Brewery")
+                .max(max)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build();
+    }
+
+    /**
+     * Seeds the beers through {@link BeerService}, so the change log, the type totals and the catalog snapshot see
+     * them exactly as they would see beers created through the API.
+     */
+    static List<BeerDTO> createBeers(BeerService beerService, List<BeerDTO> beerDTOs) throws BeerAlreadyRegisteredException {
+        List<BeerDTO> createdBeers = new ArrayList<>(beerDTOs.size());
+        for (int from = 0; from < beerDTOs.size(); from += INSERT_CHUNK_SIZE) {
+            createdBeers.addAll(beerService.createBeers(beerDTOs.subList(from, Math.min(from + INSERT_CHUNK_SIZE, beerDTOs.size()))));
+        }
+        return createdBeers;
+    }
+}
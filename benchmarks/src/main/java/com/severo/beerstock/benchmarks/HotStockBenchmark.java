@@ -0,0 +1,75 @@
+package com.severo.beerstock.benchmarks;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.service.BeerService;
+import com.severo.beerstock.service.HotStockEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decrement throughput on a single contended beer going to the database against the
+ * write-behind hot stock engine, with and without an fsync per acknowledged change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class HotStockBenchmark {
+
+    @Param({"true", "false"})
+    public boolean fsync;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private Long databaseBeerId;
+    private Long hotBeerId;
+
+    @Setup
+    public void setUp() throws IOException, BeerAlreadyRegisteredException {
+        context = BeerstockContext.start(
+                "beerstock.hot-stock.enabled=true",
+                "beerstock.hot-stock.fsync=" + fsync,
+                "beerstock.hot-stock.journal-directory=" + Files.createTempDirectory("hot-stock-benchmark"));
+        beerService = context.getBean(BeerService.class);
+        databaseBeerId = beerService.createBeer(BeerstockContext.newBeer("Database Beer", Integer.MAX_VALUE, Integer.MAX_VALUE / 2)).getId();
+        hotBeerId = beerService.createBeer(BeerstockContext.newBeer("Hot Beer", Integer.MAX_VALUE, Integer.MAX_VALUE / 2)).getId();
+        context.getBean(HotStockEngine.class).designate(hotBeerId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDTO databaseDecrement() throws BeerNotFoundException, BeerStockExceededException {
+        return beerService.decrement(databaseBeerId, 1);
+    }
+
+    @Benchmark
+    public BeerDTO hotStockDecrement() throws BeerNotFoundException, BeerStockExceededException {
+        return beerService.decrement(hotBeerId, 1);
+    }
+}
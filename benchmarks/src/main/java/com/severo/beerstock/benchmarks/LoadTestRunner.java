@@ -0,0 +1,176 @@
+package com.severo.beerstock.benchmarks;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
+import com.severo.beerstock.service.BeerService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load test that runs the REST API once on Tomcat's platform thread pool and once on virtual
+ * threads, and prints throughput and latency percentiles for each mode.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.severo.beerstock.benchmarks.LoadTestRunner [clients] [seconds]}
+ */
+public final class LoadTestRunner {
+
+    private static final int DEFAULT_CLIENTS = 1000;
+    private static final int DEFAULT_DURATION_SECONDS = 30;
+    private static final int WARMUP_SECONDS = 5;
+    private static final int BEERS = 100;
+    private static final int READ_PERCENTAGE = 80;
+    private static final String JSON_CONTENT_TYPE = "application/json";
+    private static final String QUANTITY_BODY = "{\"quantity\": 1}";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DURATION_SECONDS;
+
+        List<String> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            Result result = run(virtualThreads, clients, durationSeconds);
+            results.add(result.format(virtualThreads ? "virtual threads" : "platform threads"));
+        }
+        System.out.printf("%n%d clients, %d s%n", clients, durationSeconds);
+        System.out.printf("%-18s %12s %10s %10s %10s %8s %8s%n", "mode", "requests/s", "p50 ms", "p99 ms", "max ms", "errors", "503s");
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static Result run(boolean virtualThreads, int clients, int durationSeconds) throws Exception {
+        try (ConfigurableApplicationContext context = BeerstockContext.startWeb(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                // every client shares one address here, so the per-client rate limit would reject most of the load
+                "beerstock.rate-limit.enabled=false")) {
+            List<BeerDTO> beers = seedBeers(context.getBean(BeerService.class));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/beers";
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            runClients(httpClient, baseUrl, beers, clients, WARMUP_SECONDS);
+            return runClients(httpClient, baseUrl, beers, clients, durationSeconds);
+        }
+    }
+
+    private static List<BeerDTO> seedBeers(BeerService beerService) throws BeerAlreadyRegisteredException {
+        List<BeerDTO> beers = new ArrayList<>(BEERS);
+        for (int i = 0; i < BEERS; i++) {
+            beers.add(BeerstockContext.newBeer("beer-" + i, 500, 250));
+        }
+        return BeerstockContext.createBeers(beerService, beers);
+    }
+
+    private static Result runClients(HttpClient httpClient, String baseUrl, List<BeerDTO> beers, int clients,
+                                     int durationSeconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<Future<Result>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> runClient(httpClient, baseUrl, beers, deadline)));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            total.durationSeconds = durationSeconds;
+            return total;
+        }
+    }
+
+    private static Result runClient(HttpClient httpClient, String baseUrl, List<BeerDTO> beers, long deadline) {
+        Result result = new Result();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean decrementNext = true;
+        while (System.nanoTime() < deadline) {
+            BeerDTO beer = beers.get(random.nextInt(beers.size()));
+            HttpRequest request;
+            if (random.nextInt(100) < READ_PERCENTAGE) {
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + beer.getName())).GET().build();
+            } else {
+                String operation = decrementNext ? "/decrement" : "/increment";
+                decrementNext = !decrementNext;
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + beer.getId() + operation))
+                        .header("Content-Type", JSON_CONTENT_TYPE)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(QUANTITY_BODY))
+                        .build();
+            }
+            long start = System.nanoTime();
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                result.record(System.nanoTime() - start, status);
+            } catch (Exception e) {
+                result.record(System.nanoTime() - start, -1);
+            }
+        }
+        return result;
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long serviceUnavailable;
+        private int durationSeconds;
+
+        void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 503) {
+                serviceUnavailable++;
+            } else if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        void merge(Result other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+            serviceUnavailable += other.serviceUnavailable;
+        }
+
+        String format(String mode) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return String.format("%-18s %12.0f %10.2f %10.2f %10.2f %8d %8d", mode,
+                    (double) count / durationSeconds,
+                    percentileMillis(sorted, 0.50),
+                    percentileMillis(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1_000_000.0,
+                    errors,
+                    serviceUnavailable);
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.severo.beerstock.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Beers keyed by normalized name, so every spelling of a name shares one entry. Read and invalidated through
+     * {@link com.severo.beerstock.service.BeerNameCache}.
+     */
+    public static final String BEERS_BY_NAME_CACHE = "beersByName";
+}
@@ -0,0 +1,9 @@
+package com.severo.beerstock.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HotStockProperties.class)
+public class HotStockConfig {
+}
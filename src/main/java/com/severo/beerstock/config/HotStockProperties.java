@@ -0,0 +1,22 @@
+package com.severo.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.hot-stock")
+public class HotStockProperties {
+
+    private boolean enabled = false;
+
+    private Set<Long> beerIds = new HashSet<>();
+
+    private long flushIntervalMs = 200;
+
+    private String journalDirectory = "data/hot-stock-journal";
+
+    private boolean fsync = true;
+}
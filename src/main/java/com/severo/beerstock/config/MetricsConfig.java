@@ -0,0 +1,37 @@
+package com.severo.beerstock.config;
+
+import com.severo.beerstock.metrics.StockUnitsGauge;
+import com.severo.beerstock.repository.BeerTypeStockRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String STOCK_UNITS_METRIC = "beer.stock.units";
+
+    private static final Duration STOCK_UNITS_REFRESH_INTERVAL = Duration.ofSeconds(15);
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Reads the per-type totals folded from the change log instead of summing the beer table on every scrape. Hot
+     * beers count once their in-memory stock is flushed.
+     */
+    @Bean
+    public MeterBinder beerStockMetrics(BeerTypeStockRepository beerTypeStockRepository) {
+        StockUnitsGauge stockUnits = new StockUnitsGauge(() -> beerTypeStockRepository.sumQuantity(), STOCK_UNITS_REFRESH_INTERVAL);
+        return meterRegistry -> Gauge.builder(STOCK_UNITS_METRIC, stockUnits, StockUnitsGauge::value)
+                .description("Total beer units in stock")
+                .register(meterRegistry);
+    }
+}
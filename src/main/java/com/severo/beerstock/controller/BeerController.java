@@ -1,33 +1,67 @@
 package com.severo.beerstock.controller;
 
+import com.severo.beerstock.dto.BeerBatchRequestDTO;
+import com.severo.beerstock.dto.BeerChangeBatchDTO;
 import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerFilterDTO;
+import com.severo.beerstock.dto.BeerSearchResultDTO;
+import com.severo.beerstock.dto.BeerTypeStockDTO;
 import com.severo.beerstock.dto.QuantityDTO;
+import com.severo.beerstock.dto.StockAdjustmentRequestDTO;
+import com.severo.beerstock.dto.StockAdjustmentResultDTO;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.enums.ExportFormat;
 import lombok.AllArgsConstructor;
 import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
 import com.severo.beerstock.exception.BeerNotFoundException;
 import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.BeerVersionMismatchException;
+import com.severo.beerstock.service.BeerCatalogSnapshot;
+import com.severo.beerstock.service.BeerChangeService;
+import com.severo.beerstock.service.BeerExportService;
+import com.severo.beerstock.service.BeerSearchIndex;
 import com.severo.beerstock.service.BeerService;
+import com.severo.beerstock.service.BeerStockEventBroadcaster;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/beers")
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerController implements BeerControllerDocs {
 
     private final BeerService beerService;
+    private final BeerExportService beerExportService;
+    private final BeerStockEventBroadcaster beerStockEventBroadcaster;
+    private final BeerChangeService beerChangeService;
+    private final BeerSearchIndex beerSearchIndex;
+    private final BeerCatalogSnapshot beerCatalogSnapshot;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -35,14 +69,87 @@ public class BeerController implements BeerControllerDocs {
         return beerService.createBeer(beerDTO);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BeerDTO> createBeers(@RequestBody @Valid BeerBatchRequestDTO beerBatchRequestDTO) throws BeerAlreadyRegisteredException {
+        return beerService.createBeers(beerBatchRequestDTO.getBeers());
+    }
+
+    /**
+     * A cached beer is checked against If-None-Match before anything is loaded.
+     */
     @GetMapping("/{name}")
-    public BeerDTO findByName(@PathVariable String name) throws BeerNotFoundException {
-        return beerService.findByName(name);
+    public BeerDTO findByName(@PathVariable String name, WebRequest webRequest) throws BeerNotFoundException {
+        BeerDTO beerDTO = beerService.findCachedByName(name);
+        if (beerDTO == null) {
+            beerDTO = beerService.findByName(name);
+        }
+        if (beerDTO.getVersion() != null && webRequest.checkNotModified(beerETag(beerDTO))) {
+            return null;
+        }
+        return beerDTO;
     }
 
     @GetMapping
-    public List<BeerDTO> listBeers() {
-        return beerService.listAll();
+    public Page<BeerDTO> listBeers(BeerFilterDTO filter, @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                   WebRequest webRequest, HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (webRequest.checkNotModified(catalogETag(filter, pageable, webRequest.getHeader(HttpHeaders.ACCEPT)))) {
+            return null;
+        }
+        return beerService.listAll(filter, pageable);
+    }
+
+    /**
+     * Serves the pre-serialized catalog snapshot; the conditional request is answered by the HttpEntity handling.
+     */
+    @GetMapping(value = "/catalog", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> catalog(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        BeerCatalogSnapshot.Snapshot snapshot = beerCatalogSnapshot.current();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.eTag(snapshot.getGzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.getGzip());
+        }
+        return response.eTag(snapshot.getETag()).body(snapshot.getJson());
+    }
+
+    @GetMapping("/search")
+    public List<BeerSearchResultDTO> search(@RequestParam String q,
+                                            @RequestParam(required = false) BeerType type,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        return beerSearchIndex.search(q, type, limit);
+    }
+
+    @GetMapping("/low-stock")
+    public Page<BeerDTO> listLowStock(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return beerService.listLowStock(pageable);
+    }
+
+    @GetMapping("/stock-by-type")
+    public List<BeerTypeStockDTO> listStockByType() {
+        return beerService.listStockByType();
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBeers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .body(outputStream -> beerExportService.export(format, outputStream));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockEvents() {
+        return beerStockEventBroadcaster.subscribe();
+    }
+
+    @GetMapping("/changes")
+    public BeerChangeBatchDTO listChanges(@RequestParam(defaultValue = "0") long since,
+                                          @RequestParam(defaultValue = "500") int limit) {
+        return beerChangeService.findChanges(since, limit);
     }
 
     @DeleteMapping("/{id}")
@@ -52,12 +159,85 @@ public class BeerController implements BeerControllerDocs {
     }
 
     @PatchMapping("/{id}/increment")
-    public BeerDTO increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException {
-        return beerService.increment(id, quantityDTO.getQuantity());
+    public ResponseEntity<BeerDTO> increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws BeerNotFoundException, BeerStockExceededException, BeerVersionMismatchException {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return withETag(beerService.increment(id, quantityDTO.getQuantity()));
+        }
+        Long expectedVersion = parseVersion(id, ifMatch);
+        if (expectedVersion == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return withETag(beerService.incrementIfMatch(id, quantityDTO.getQuantity(), expectedVersion));
     }
 
     @PatchMapping("/{id}/decrement")
-    public BeerDTO decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException {
-        return beerService.decrement(id, quantityDTO.getQuantity());
+    public ResponseEntity<BeerDTO> decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws BeerNotFoundException, BeerStockExceededException, BeerVersionMismatchException {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return withETag(beerService.decrement(id, quantityDTO.getQuantity()));
+        }
+        Long expectedVersion = parseVersion(id, ifMatch);
+        if (expectedVersion == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return withETag(beerService.decrementIfMatch(id, quantityDTO.getQuantity(), expectedVersion));
+    }
+
+    @PostMapping("/stock-adjustments")
+    public List<StockAdjustmentResultDTO> adjustStock(@RequestBody @Valid StockAdjustmentRequestDTO stockAdjustmentRequestDTO) {
+        return beerService.adjustStock(stockAdjustmentRequestDTO.getAdjustments());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The catalog version plus a hash of the query and the requested media type, so that two pages, two filters or
+     * the same page as JSON and as CBOR never share a tag.
+     */
+    private String catalogETag(BeerFilterDTO filter, Pageable pageable, String accept) {
+        String query = filter + "|" + pageable + "|" + accept;
+        return "\"" + beerService.catalogVersion() + "-" + Integer.toHexString(query.hashCode()) + "\"";
+    }
+
+    private static String beerETag(BeerDTO beerDTO) {
+        return "\"" + beerDTO.getId() + "-" + beerDTO.getVersion() + "\"";
+    }
+
+    private static ResponseEntity<BeerDTO> withETag(BeerDTO beerDTO) {
+        if (beerDTO.getVersion() == null) {
+            return ResponseEntity.ok(beerDTO);
+        }
+        return ResponseEntity.ok().eTag(beerETag(beerDTO)).body(beerDTO);
+    }
+
+    /**
+     * Reads the version out of a strong {@code "<id>-<version>"} entity tag; null when the tag is weak, malformed
+     * or belongs to another beer.
+     */
+    private static Long parseVersion(Long id, String ifMatch) {
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
@@ -1,61 +1,155 @@
 package com.severo.beerstock.controller;
 
+import com.severo.beerstock.dto.BeerBatchRequestDTO;
+import com.severo.beerstock.dto.BeerChangeBatchDTO;
 import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerFilterDTO;
+import com.severo.beerstock.dto.BeerSearchResultDTO;
+import com.severo.beerstock.dto.BeerTypeStockDTO;
 import com.severo.beerstock.dto.QuantityDTO;
+import com.severo.beerstock.dto.StockAdjustmentRequestDTO;
+import com.severo.beerstock.dto.StockAdjustmentResultDTO;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.enums.ExportFormat;
 import com.severo.beerstock.exception.BeerStockExceededException;
-import io.swagger.annotations.Api;
-import io.swagger.annotations.ApiOperation;
-import io.swagger.annotations.ApiResponse;
-import io.swagger.annotations.ApiResponses;
+import com.severo.beerstock.exception.BeerVersionMismatchException;
+import com.severo.beerstock.filter.IdempotencyFilter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
 import com.severo.beerstock.exception.BeerNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
 
-@Api("Manages beer stock")
+@Tag(name = "Manages beer stock")
 public interface BeerControllerDocs {
 
-    @ApiOperation(value = "Beer creation operation")
+    @Operation(summary = "Beer creation operation")
     @ApiResponses(value = {
-            @ApiResponse(code = 201, message = "Success beer creation"),
-            @ApiResponse(code = 400, message = "Missing required fields or wrong field range value.")
+            @ApiResponse(responseCode = "201", description = "Success beer creation"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields or wrong field range value."),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different request.")
     })
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+            description = "Optional key making retries of the request return its first response instead of running again")
     BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException;
 
-    @ApiOperation(value = "Returns beer found by a given name")
+    @Operation(summary = "Batch beer creation operation, all beers are created or none")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "Success beer found in the system"),
-            @ApiResponse(code = 404, message = "Beer with given name not found.")
+            @ApiResponse(responseCode = "201", description = "Success beers creation"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields, wrong field range value or beer already registered.")
     })
-    BeerDTO findByName(@PathVariable String name) throws BeerNotFoundException;
+    List<BeerDTO> createBeers(BeerBatchRequestDTO beerBatchRequestDTO) throws BeerAlreadyRegisteredException;
 
-    @ApiOperation(value = "Returns a list of all beers registered in the system")
+    @Operation(summary = "Returns beer found by a given name, tagged with a strong ETag of its version")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "List of all beers registered in the system"),
+            @ApiResponse(responseCode = "200", description = "Success beer found in the system"),
+            @ApiResponse(responseCode = "304", description = "Beer unchanged since the informed If-None-Match tag."),
+            @ApiResponse(responseCode = "404", description = "Beer with given name not found.")
     })
-    List<BeerDTO> listBeers();
+    BeerDTO findByName(@PathVariable String name, @Parameter(hidden = true) WebRequest webRequest) throws BeerNotFoundException;
 
-    @ApiOperation(value = "Delete a beer found by a given valid Id")
+    @Operation(summary = "Returns a page of the beers registered in the system, optionally filtered by type, brand, low stock threshold or after a given id")
     @ApiResponses(value = {
-            @ApiResponse(code = 204, message = "Success beer deleted in the system"),
-            @ApiResponse(code = 404, message = "Beer with given id not found.")
+            @ApiResponse(responseCode = "200", description = "Page of beers registered in the system"),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the informed If-None-Match tag.")
+    })
+    Page<BeerDTO> listBeers(BeerFilterDTO filter, Pageable pageable, @Parameter(hidden = true) WebRequest webRequest,
+                            @Parameter(hidden = true) HttpServletResponse response);
+
+    @Operation(summary = "Returns the whole catalog as a JSON array ordered by id, served from a pre-serialized snapshot and gzip-compressed when accepted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All beers registered in the system"),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the informed If-None-Match tag.")
+    })
+    ResponseEntity<byte[]> catalog(@Parameter(hidden = true) String acceptEncoding);
+
+    @Operation(summary = "Type-ahead search of beers by name and brand prefixes, best matches first, optionally filtered by type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranked beers matching every word of the query")
+    })
+    List<BeerSearchResultDTO> search(String q, BeerType type, int limit);
+
+    @Operation(summary = "Returns a page of the beers whose quantity is below their own reorder threshold")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of beers that need to be reordered")
+    })
+    Page<BeerDTO> listLowStock(Pageable pageable);
+
+    @Operation(summary = "Returns the total stock of each beer type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock totals per beer type")
+    })
+    List<BeerTypeStockDTO> listStockByType();
+
+    @Operation(summary = "Streams the whole beer catalog as NDJSON or CSV, one beer per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Beer catalog streamed in the requested format"),
+            @ApiResponse(responseCode = "400", description = "Unknown export format.")
+    })
+    ResponseEntity<StreamingResponseBody> exportBeers(ExportFormat format);
+
+    @Operation(summary = "Streams committed stock changes as Server-Sent Events; a resync event means some changes were dropped and the catalog must be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of stock events")
+    })
+    SseEmitter streamStockEvents();
+
+    @Operation(summary = "Returns the committed stock changes after a given sequence, oldest first, so consumers can sync incrementally")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch of stock changes and the sequence to resume from")
+    })
+    BeerChangeBatchDTO listChanges(long since, int limit);
+
+    @Operation(summary = "Delete a beer found by a given valid Id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Success beer deleted in the system"),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
     })
     void deleteById(@PathVariable Long id) throws BeerNotFoundException;
 
-    @ApiOperation(value = "Increment beer quantity by id if exists")
+    @Operation(summary = "Increment beer quantity by id if exists, optionally only if it still matches an If-Match tag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success beer found in the system"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields or wrong field range value."),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found."),
+            @ApiResponse(responseCode = "412", description = "Beer no longer matches the informed If-Match tag."),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different request.")
+    })
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+            description = "Optional key making retries of the request return its first response instead of running again")
+    ResponseEntity<BeerDTO> increment(@PathVariable Long id, QuantityDTO quantityDTO, String ifMatch)
+            throws BeerNotFoundException, BeerStockExceededException, BeerVersionMismatchException;
+
+    @Operation(summary = "Decrement beer quantity by id if exists, optionally only if it still matches an If-Match tag")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "Success beer found in the system"),
-            @ApiResponse(code = 400, message = "Missing required fields or wrong field range value."),
-            @ApiResponse(code = 404, message = "Beer with given id not found.")
+            @ApiResponse(responseCode = "200", description = "Success beer found in the system"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields or wrong field range value."),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found."),
+            @ApiResponse(responseCode = "412", description = "Beer no longer matches the informed If-Match tag."),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different request.")
     })
-    BeerDTO increment(@PathVariable Long id, QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException;
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+            description = "Optional key making retries of the request return its first response instead of running again")
+    ResponseEntity<BeerDTO> decrement(@PathVariable Long id, QuantityDTO quantityDTO, String ifMatch)
+            throws BeerNotFoundException, BeerStockExceededException, BeerVersionMismatchException;
 
-    @ApiOperation(value = "Decrement beer quantity by id if exists")
+    @Operation(summary = "Applies a batch of stock increments and decrements in a single transaction")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "Success beer found in the system"),
-            @ApiResponse(code = 400, message = "Missing required fields or wrong field range value."),
-            @ApiResponse(code = 404, message = "Beer with given id not found.")
+            @ApiResponse(responseCode = "200", description = "Result of each stock adjustment, in the same order as informed"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields or wrong field range value.")
     })
-    BeerDTO decrement(@PathVariable Long id, QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException;
+    List<StockAdjustmentResultDTO> adjustStock(StockAdjustmentRequestDTO stockAdjustmentRequestDTO);
 }
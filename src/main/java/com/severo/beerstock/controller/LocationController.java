@@ -0,0 +1,76 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.LocationDTO;
+import com.severo.beerstock.dto.LocationStockDTO;
+import com.severo.beerstock.dto.QuantityDTO;
+import com.severo.beerstock.dto.StockTransferDTO;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.InvalidStockTransferException;
+import com.severo.beerstock.exception.LocationAlreadyRegisteredException;
+import com.severo.beerstock.exception.LocationNotFoundException;
+import com.severo.beerstock.exception.LocationStockNotSupportedException;
+import com.severo.beerstock.service.LocationService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class LocationController implements LocationControllerDocs {
+
+    private final LocationService locationService;
+
+    @PostMapping("/locations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public LocationDTO createLocation(@RequestBody @Valid LocationDTO locationDTO) throws LocationAlreadyRegisteredException {
+        return locationService.createLocation(locationDTO);
+    }
+
+    @GetMapping("/locations")
+    public List<LocationDTO> listLocations() {
+        return locationService.listAll();
+    }
+
+    @GetMapping("/locations/{id}")
+    public LocationDTO findById(@PathVariable Long id) throws LocationNotFoundException {
+        return locationService.findById(id);
+    }
+
+    @GetMapping("/beers/{id}/locations")
+    public List<LocationStockDTO> findBeerStock(@PathVariable Long id) throws BeerNotFoundException {
+        return locationService.findStockByBeerId(id);
+    }
+
+    @PatchMapping("/beers/{id}/locations/{locationId}/increment")
+    public LocationStockDTO increment(@PathVariable Long id, @PathVariable Long locationId, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws BeerNotFoundException, LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException {
+        return locationService.increment(id, locationId, quantityDTO.getQuantity());
+    }
+
+    @PatchMapping("/beers/{id}/locations/{locationId}/decrement")
+    public LocationStockDTO decrement(@PathVariable Long id, @PathVariable Long locationId, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws BeerNotFoundException, LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException {
+        return locationService.decrement(id, locationId, quantityDTO.getQuantity());
+    }
+
+    @PostMapping("/beers/{id}/transfers")
+    public List<LocationStockDTO> transfer(@PathVariable Long id, @RequestBody @Valid StockTransferDTO stockTransferDTO) throws BeerNotFoundException,
+            LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException, InvalidStockTransferException {
+        return locationService.transfer(id, stockTransferDTO);
+    }
+}
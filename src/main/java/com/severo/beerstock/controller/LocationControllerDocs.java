@@ -0,0 +1,80 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.LocationDTO;
+import com.severo.beerstock.dto.LocationStockDTO;
+import com.severo.beerstock.dto.QuantityDTO;
+import com.severo.beerstock.dto.StockTransferDTO;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.InvalidStockTransferException;
+import com.severo.beerstock.exception.LocationAlreadyRegisteredException;
+import com.severo.beerstock.exception.LocationNotFoundException;
+import com.severo.beerstock.exception.LocationStockNotSupportedException;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.List;
+
+@Tag(name = "Manages beer stock held at bars and warehouses")
+public interface LocationControllerDocs {
+
+    @Operation(summary = "Location creation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Success location creation"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields or location name already registered.")
+    })
+    LocationDTO createLocation(LocationDTO locationDTO) throws LocationAlreadyRegisteredException;
+
+    @Operation(summary = "Returns all registered locations with their total stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of all locations registered in the system")
+    })
+    List<LocationDTO> listLocations();
+
+    @Operation(summary = "Returns the location found by a given id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success location found in the system"),
+            @ApiResponse(responseCode = "404", description = "Location with given id not found.")
+    })
+    LocationDTO findById(@PathVariable Long id) throws LocationNotFoundException;
+
+    @Operation(summary = "Returns the stock of a beer at each location holding it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock of the beer per location"),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
+    })
+    List<LocationStockDTO> findBeerStock(@PathVariable Long id) throws BeerNotFoundException;
+
+    @Operation(summary = "Increment beer stock at a location")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success beer stock incremented at the location"),
+            @ApiResponse(responseCode = "400", description = "Beer stock would exceed its max."),
+            @ApiResponse(responseCode = "404", description = "Beer or location not found."),
+            @ApiResponse(responseCode = "409", description = "Beer stock is currently kept in memory.")
+    })
+    LocationStockDTO increment(@PathVariable Long id, @PathVariable Long locationId, QuantityDTO quantityDTO)
+            throws BeerNotFoundException, LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException;
+
+    @Operation(summary = "Decrement beer stock at a location")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success beer stock decremented at the location"),
+            @ApiResponse(responseCode = "400", description = "Not enough stock of the beer at the location."),
+            @ApiResponse(responseCode = "404", description = "Beer or location not found."),
+            @ApiResponse(responseCode = "409", description = "Beer stock is currently kept in memory.")
+    })
+    LocationStockDTO decrement(@PathVariable Long id, @PathVariable Long locationId, QuantityDTO quantityDTO)
+            throws BeerNotFoundException, LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException;
+
+    @Operation(summary = "Moves beer stock between locations, or between a location and the unallocated stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success stock transfer, returns the stock of the beer per location"),
+            @ApiResponse(responseCode = "400", description = "Not enough stock to move or both sides of the transfer are the same."),
+            @ApiResponse(responseCode = "404", description = "Beer or location not found."),
+            @ApiResponse(responseCode = "409", description = "Beer stock is currently kept in memory.")
+    })
+    List<LocationStockDTO> transfer(@PathVariable Long id, StockTransferDTO stockTransferDTO) throws BeerNotFoundException,
+            LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException, InvalidStockTransferException;
+}
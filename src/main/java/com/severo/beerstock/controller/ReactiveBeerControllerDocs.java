@@ -0,0 +1,58 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.QuantityDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.PathVariable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Tag(name = "Manages beer stock without blocking")
+public interface ReactiveBeerControllerDocs {
+
+    @Operation(summary = "Beer creation operation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Success beer creation"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields, wrong field range value or beer already registered.")
+    })
+    Mono<BeerDTO> createBeer(BeerDTO beerDTO);
+
+    @Operation(summary = "Returns beer found by a given name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success beer found in the system"),
+            @ApiResponse(responseCode = "404", description = "Beer with given name not found.")
+    })
+    Mono<BeerDTO> findByName(@PathVariable String name);
+
+    @Operation(summary = "Streams all beers registered in the system, honoring the client's demand")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of all beers registered in the system"),
+    })
+    Flux<BeerDTO> listBeers();
+
+    @Operation(summary = "Delete a beer found by a given valid Id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Success beer deleted in the system"),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
+    })
+    Mono<Void> deleteById(@PathVariable Long id);
+
+    @Operation(summary = "Increment beer quantity by id if exists")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success beer found in the system"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields or wrong field range value."),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
+    })
+    Mono<BeerDTO> increment(@PathVariable Long id, QuantityDTO quantityDTO);
+
+    @Operation(summary = "Decrement beer quantity by id if exists")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success beer found in the system"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields or wrong field range value."),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
+    })
+    Mono<BeerDTO> decrement(@PathVariable Long id, QuantityDTO quantityDTO);
+}
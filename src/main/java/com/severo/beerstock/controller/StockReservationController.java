@@ -0,0 +1,61 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.StockAvailabilityDTO;
+import com.severo.beerstock.dto.StockReservationDTO;
+import com.severo.beerstock.dto.StockReservationRequestDTO;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.StockReservationNotActiveException;
+import com.severo.beerstock.exception.StockReservationNotFoundException;
+import com.severo.beerstock.exception.StockReservationNotSupportedException;
+import com.severo.beerstock.service.StockReservationService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/reservations")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class StockReservationController implements StockReservationControllerDocs {
+
+    private final StockReservationService stockReservationService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public StockReservationDTO reserve(@RequestBody @Valid StockReservationRequestDTO stockReservationRequestDTO)
+            throws BeerNotFoundException, BeerStockExceededException, StockReservationNotSupportedException {
+        return stockReservationService.reserve(stockReservationRequestDTO);
+    }
+
+    @GetMapping("/{id}")
+    public StockReservationDTO findById(@PathVariable Long id) throws StockReservationNotFoundException {
+        return stockReservationService.findById(id);
+    }
+
+    @GetMapping("/availability/{beerId}")
+    public StockAvailabilityDTO findAvailability(@PathVariable Long beerId) throws BeerNotFoundException {
+        return stockReservationService.findAvailability(beerId);
+    }
+
+    @PostMapping("/{id}/confirm")
+    public StockReservationDTO confirm(@PathVariable Long id)
+            throws StockReservationNotFoundException, StockReservationNotActiveException, BeerNotFoundException, StockReservationNotSupportedException {
+        return stockReservationService.confirm(id);
+    }
+
+    @PostMapping("/{id}/release")
+    public StockReservationDTO release(@PathVariable Long id) throws StockReservationNotFoundException, StockReservationNotActiveException {
+        return stockReservationService.release(id);
+    }
+}
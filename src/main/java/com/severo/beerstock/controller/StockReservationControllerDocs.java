@@ -0,0 +1,61 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.StockAvailabilityDTO;
+import com.severo.beerstock.dto.StockReservationDTO;
+import com.severo.beerstock.dto.StockReservationRequestDTO;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.StockReservationNotActiveException;
+import com.severo.beerstock.exception.StockReservationNotFoundException;
+import com.severo.beerstock.exception.StockReservationNotSupportedException;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.web.bind.annotation.PathVariable;
+
+@Tag(name = "Manages temporary holds on beer stock")
+public interface StockReservationControllerDocs {
+
+    @Operation(summary = "Holds beer stock for a limited time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Success stock reservation creation"),
+            @ApiResponse(responseCode = "400", description = "Missing required fields, wrong field range value or not enough available stock."),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found."),
+            @ApiResponse(responseCode = "409", description = "Beer stock is currently kept in memory.")
+    })
+    StockReservationDTO reserve(StockReservationRequestDTO stockReservationRequestDTO)
+            throws BeerNotFoundException, BeerStockExceededException, StockReservationNotSupportedException;
+
+    @Operation(summary = "Returns the stock reservation found by a given id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success stock reservation found in the system"),
+            @ApiResponse(responseCode = "404", description = "Stock reservation with given id not found.")
+    })
+    StockReservationDTO findById(@PathVariable Long id) throws StockReservationNotFoundException;
+
+    @Operation(summary = "Returns the stock, reserved and available quantities of a beer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success beer found in the system"),
+            @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
+    })
+    StockAvailabilityDTO findAvailability(@PathVariable Long beerId) throws BeerNotFoundException;
+
+    @Operation(summary = "Confirms an active stock reservation, permanently taking its quantity from the stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success stock reservation confirmed"),
+            @ApiResponse(responseCode = "400", description = "Stock reservation is no longer active."),
+            @ApiResponse(responseCode = "404", description = "Stock reservation or beer not found."),
+            @ApiResponse(responseCode = "409", description = "Beer stock is currently kept in memory.")
+    })
+    StockReservationDTO confirm(@PathVariable Long id)
+            throws StockReservationNotFoundException, StockReservationNotActiveException, BeerNotFoundException, StockReservationNotSupportedException;
+
+    @Operation(summary = "Releases an active stock reservation, making its quantity available again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success stock reservation released"),
+            @ApiResponse(responseCode = "400", description = "Stock reservation is no longer active."),
+            @ApiResponse(responseCode = "404", description = "Stock reservation with given id not found.")
+    })
+    StockReservationDTO release(@PathVariable Long id) throws StockReservationNotFoundException, StockReservationNotActiveException;
+}
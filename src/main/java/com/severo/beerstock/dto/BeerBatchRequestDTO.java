@@ -0,0 +1,23 @@
+package com.severo.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerBatchRequestDTO {
+
+    @Valid
+    @NotEmpty
+    @Size(max = 1000)
+    private List<BeerDTO> beers;
+}
@@ -0,0 +1,24 @@
+package com.severo.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerChangeBatchDTO {
+
+    private List<BeerChangeDTO> changes;
+
+    /**
+     * Sequence to send as {@code since} on the next request.
+     */
+    private Long lastSeq;
+
+    private boolean hasMore;
+}
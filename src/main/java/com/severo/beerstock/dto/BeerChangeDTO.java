@@ -0,0 +1,30 @@
+package com.severo.beerstock.dto;
+
+import com.severo.beerstock.enums.BeerChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerChangeDTO {
+
+    private Long seq;
+
+    private Long beerId;
+
+    private String name;
+
+    private BeerChangeType changeType;
+
+    private Integer delta;
+
+    private Integer quantity;
+
+    private Instant changedAt;
+}
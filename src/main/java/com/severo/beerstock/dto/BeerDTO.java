@@ -6,11 +6,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-import javax.validation.constraints.Max;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Size;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 @Data
 @Builder
@@ -36,7 +37,16 @@ public class BeerDTO {
     @Max(100)
     private Integer quantity;
 
+    @Min(0)
+    @Max(100)
+    private Integer reorderThreshold;
+
     @Enumerated(EnumType.STRING)
     @NotNull
     private BeerType type;
+
+    /**
+     * Optimistic lock version, read only. Absent for beers whose stock is kept in memory.
+     */
+    private Long version;
 }
@@ -0,0 +1,22 @@
+package com.severo.beerstock.dto;
+
+import com.severo.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerFilterDTO {
+
+    private BeerType type;
+
+    private String brand;
+
+    private Integer lowStockThreshold;
+
+    private Long afterId;
+}
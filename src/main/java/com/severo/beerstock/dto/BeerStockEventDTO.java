@@ -0,0 +1,26 @@
+package com.severo.beerstock.dto;
+
+import com.severo.beerstock.enums.BeerChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerStockEventDTO {
+
+    private Long id;
+
+    private String name;
+
+    private Integer quantity;
+
+    private Integer delta;
+
+    private Integer reorderThreshold;
+
+    private BeerChangeType change;
+}
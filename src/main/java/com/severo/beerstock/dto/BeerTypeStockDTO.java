@@ -0,0 +1,18 @@
+package com.severo.beerstock.dto;
+
+import com.severo.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerTypeStockDTO {
+
+    private BeerType type;
+
+    private Long quantity;
+}
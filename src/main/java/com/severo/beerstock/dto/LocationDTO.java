@@ -0,0 +1,27 @@
+package com.severo.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationDTO {
+
+    private Long id;
+
+    @NotNull
+    @Size(min = 1, max = 200)
+    private String name;
+
+    /**
+     * Total stock held at the location, read only.
+     */
+    private Long quantity;
+}
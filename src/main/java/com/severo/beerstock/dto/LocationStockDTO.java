@@ -0,0 +1,19 @@
+package com.severo.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationStockDTO {
+
+    private Long locationId;
+
+    private String locationName;
+
+    private Integer quantity;
+}
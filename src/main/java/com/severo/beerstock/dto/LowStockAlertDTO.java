@@ -0,0 +1,25 @@
+package com.severo.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockAlertDTO {
+
+    private Long id;
+
+    private String name;
+
+    private Integer quantity;
+
+    private Integer reorderThreshold;
+
+    private Instant raisedAt;
+}
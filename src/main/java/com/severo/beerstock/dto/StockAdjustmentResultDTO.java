@@ -0,0 +1,20 @@
+package com.severo.beerstock.dto;
+
+import com.severo.beerstock.enums.StockAdjustmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResultDTO {
+
+    private Long id;
+
+    private Integer delta;
+
+    private StockAdjustmentStatus status;
+}
@@ -0,0 +1,29 @@
+package com.severo.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Moves stock of a beer between locations. A missing location stands for the beer's unallocated stock.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTransferDTO {
+
+    private Long fromLocationId;
+
+    private Long toLocationId;
+
+    @NotNull
+    @Min(1)
+    @Max(100)
+    private Integer quantity;
+}
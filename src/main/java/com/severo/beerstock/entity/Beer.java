@@ -4,28 +4,51 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.utils.BeerNames;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Data
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Beer.NAME_UNIQUE_CONSTRAINT, columnNames = "name_key"), indexes = {
+        @Index(name = "idx_beer_type", columnList = "type"),
+        @Index(name = "idx_beer_brand", columnList = "brand"),
+        @Index(name = "idx_beer_quantity", columnList = "quantity"),
+        @Index(name = "idx_beer_low_stock", columnList = "low_stock, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Beer {
 
+    public static final String NAME_UNIQUE_CONSTRAINT = "uk_beer_name_key";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceGenerator(name = "beer_seq", sequenceName = "beer_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_seq")
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
+    /**
+     * Normalized name used for lookups and uniqueness, see {@link BeerNames#normalize(String)}.
+     */
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
     @Column(nullable = false)
     private String brand;
 
@@ -35,9 +58,35 @@ public class Beer {
     @Column(nullable = false)
     private int quantity;
 
+    @Column(nullable = false)
+    private int reserved;
+
+    /**
+     * Part of {@link #quantity} held at some location, see {@link LocationStock}.
+     */
+    @Column(nullable = false)
+    private int allocated;
+
+    @Column(nullable = false)
+    private int reorderThreshold;
+
+    /**
+     * Maintained by the database so the low stock query is an index range scan instead of a table scan.
+     */
+    @Column(name = "low_stock", insertable = false, updatable = false,
+            columnDefinition = "boolean generated always as (quantity < reorder_threshold)")
+    private Boolean lowStock;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BeerType type;
 
+    @Version
+    private Long version;
 
+    @PrePersist
+    @PreUpdate
+    void normalizeNameKey() {
+        nameKey = BeerNames.normalize(name);
+    }
 }
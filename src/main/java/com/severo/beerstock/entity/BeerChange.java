@@ -0,0 +1,47 @@
+package com.severo.beerstock.entity;
+
+import com.severo.beerstock.enums.BeerChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import java.time.Instant;
+
+/**
+ * Append-only record of a stock change, written in the same transaction as the change itself.
+ */
+@Data
+@Entity
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerChange {
+
+    @Id
+    private Long seq;
+
+    @Column(nullable = false)
+    private Long beerId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BeerChangeType changeType;
+
+    @Column(nullable = false)
+    private int delta;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,31 @@
+package com.severo.beerstock.entity;
+
+import com.severo.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+
+/**
+ * Total stock per beer type as of the last change folded by {@code BeerTypeStockFolder}.
+ */
+@Data
+@Entity
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerTypeStock {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private BeerType type;
+
+    @Column(nullable = false)
+    private long quantity;
+}
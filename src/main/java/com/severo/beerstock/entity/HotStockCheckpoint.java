@@ -0,0 +1,23 @@
+package com.severo.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.Instant;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockCheckpoint {
+
+    @Id
+    private Long segmentId;
+
+    @Column(nullable = false)
+    private Instant flushedAt;
+}
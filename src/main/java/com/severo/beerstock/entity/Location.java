@@ -0,0 +1,39 @@
+package com.severo.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A bar or warehouse holding beer stock. {@link #quantity} is the total of its {@link LocationStock} rows, kept up to
+ * date by every location stock change.
+ */
+@Data
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Location.NAME_UNIQUE_CONSTRAINT, columnNames = "name"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class Location {
+
+    public static final String NAME_UNIQUE_CONSTRAINT = "uk_location_name";
+
+    @Id
+    @SequenceGenerator(name = "location_seq", sequenceName = "location_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "location_seq")
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private long quantity;
+}
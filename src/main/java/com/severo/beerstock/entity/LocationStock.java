@@ -0,0 +1,41 @@
+package com.severo.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import java.io.Serializable;
+
+/**
+ * Quantity of a beer held at a location.
+ */
+@Data
+@Entity
+@IdClass(LocationStock.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationStock {
+
+    @Id
+    private Long beerId;
+
+    @Id
+    private Long locationId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long beerId;
+
+        private Long locationId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.severo.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BeerChangeType {
+
+    CREATED("Beer created"),
+    INCREMENTED("Stock incremented"),
+    DECREMENTED("Stock decremented"),
+    ADJUSTED("Stock adjusted"),
+    RESERVATION_CONFIRMED("Reserved stock taken by a confirmed reservation"),
+    TRANSFERRED("Stock moved between locations or in and out of the unallocated stock"),
+    DELETED("Beer deleted");
+
+    private final String description;
+}
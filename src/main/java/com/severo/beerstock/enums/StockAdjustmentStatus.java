@@ -0,0 +1,16 @@
+package com.severo.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockAdjustmentStatus {
+
+    APPLIED("Applied"),
+    NOT_FOUND("Beer not found"),
+    EXCEEDS_MAX("Would exceed the max stock capacity"),
+    BELOW_ZERO("Would leave the stock below zero");
+
+    private final String description;
+}
@@ -3,10 +3,16 @@ package com.severo.beerstock.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.List;
+
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BeerAlreadyRegisteredException extends Exception{
 
     public BeerAlreadyRegisteredException(String beerName) {
         super(String.format("Beer with name %s already registered in the system.", beerName));
     }
+
+    public BeerAlreadyRegisteredException(List<String> beerNames) {
+        super(String.format("At least one of the beers with names %s is already registered in the system.", String.join(", ", beerNames)));
+    }
 }
@@ -0,0 +1,12 @@
+package com.severo.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class BeerVersionMismatchException extends Exception {
+
+    public BeerVersionMismatchException(Long id, long expectedVersion) {
+        super(String.format("Beer with ID %s is no longer at the informed version %s", id, expectedVersion));
+    }
+}
@@ -0,0 +1,12 @@
+package com.severo.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidStockTransferException extends Exception {
+
+    public InvalidStockTransferException(Long beerId) {
+        super(String.format("Stock transfer of beer with id %s must move stock between two different locations.", beerId));
+    }
+}
@@ -0,0 +1,12 @@
+package com.severo.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class LocationAlreadyRegisteredException extends Exception {
+
+    public LocationAlreadyRegisteredException(String name) {
+        super(String.format("Location with name %s already registered in the system.", name));
+    }
+}
@@ -0,0 +1,12 @@
+package com.severo.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class LocationStockNotSupportedException extends Exception {
+
+    public LocationStockNotSupportedException(Long beerId) {
+        super(String.format("Beer with id %s has its stock kept in memory and cannot be moved between locations right now.", beerId));
+    }
+}
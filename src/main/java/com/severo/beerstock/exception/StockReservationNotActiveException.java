@@ -0,0 +1,13 @@
+package com.severo.beerstock.exception;
+
+import com.severo.beerstock.enums.ReservationStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class StockReservationNotActiveException extends Exception {
+
+    public StockReservationNotActiveException(Long id, ReservationStatus status) {
+        super(String.format("Stock reservation with id %s is %s and can no longer be changed.", id, status.getDescription().toLowerCase()));
+    }
+}
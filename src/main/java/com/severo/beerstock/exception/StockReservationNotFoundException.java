@@ -0,0 +1,12 @@
+package com.severo.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class StockReservationNotFoundException extends Exception {
+
+    public StockReservationNotFoundException(Long id) {
+        super(String.format("Stock reservation with id %s not found in the system.", id));
+    }
+}
@@ -0,0 +1,12 @@
+package com.severo.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StockReservationNotSupportedException extends Exception {
+
+    public StockReservationNotSupportedException(Long beerId) {
+        super(String.format("Beer with id %s has its stock kept in memory and cannot be reserved or confirmed right now.", beerId));
+    }
+}
@@ -0,0 +1,83 @@
+package com.severo.beerstock.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of API requests in flight when requests run on virtual threads.
+ * <p>
+ * With platform threads Tomcat's pool caps how many requests reach {@code BeerService} at once; virtual threads
+ * remove that cap, so without this filter every waiting request would queue on the connection pool. Requests that
+ * cannot get a permit within the timeout are rejected with 503 and a Retry-After header instead.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class DatabaseConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH_PREFIX = "/api/";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Counter rejectedRequests;
+
+    @Autowired
+    public DatabaseConcurrencyFilter(MeterRegistry meterRegistry,
+                                     @Value("${beerstock.db-concurrency.max-concurrent-requests:200}") int maxConcurrentRequests,
+                                     @Value("${beerstock.db-concurrency.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.rejectedRequests = Counter.builder("beer.db.concurrency.rejected")
+                .description("API requests rejected because no database permit was available in time")
+                .register(meterRegistry);
+        Gauge.builder("beer.db.concurrency.available", permits, Semaphore::availablePermits)
+                .description("Database permits currently available to API requests")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquirePermit()) {
+            rejectedRequests.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
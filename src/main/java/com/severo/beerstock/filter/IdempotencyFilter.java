@@ -0,0 +1,302 @@
+package com.severo.beerstock.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POST and PATCH API requests carrying an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key runs normally and, when it succeeds, its status, headers and body are kept for
+ * {@code ttl-ms}: a retry with the same key gets that response back without reaching {@code BeerService}. Duplicates
+ * arriving while the first request is still running wait for its outcome instead of running again. A key reused for a
+ * different request is rejected with 422. Failed requests are not kept, so they can be retried with the same key.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String API_PATH_PREFIX = "/api/";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Cache<String, IdempotentRequest> requests;
+    private final long waitTimeoutMs;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter timedOut;
+
+    @Autowired
+    public IdempotencyFilter(MeterRegistry meterRegistry,
+                             @Value("${beerstock.idempotency.max-keys:10000}") long maxKeys,
+                             @Value("${beerstock.idempotency.ttl-ms:3600000}") long ttlMs,
+                             @Value("${beerstock.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.executed = requestCounter(meterRegistry, "executed");
+        this.replayed = requestCounter(meterRegistry, "replayed");
+        this.mismatched = requestCounter(meterRegistry, "mismatched");
+        this.timedOut = requestCounter(meterRegistry, "timed_out");
+        Gauge.builder("beer.idempotency.keys", requests, Cache::estimatedSize)
+                .description("Idempotency keys currently remembered")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !request.getRequestURI().startsWith(API_PATH_PREFIX)
+                || !(HttpMethod.POST.matches(method) || HttpMethod.PATCH.matches(method))
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String fingerprint = fingerprint(request, body);
+        while (true) {
+            IdempotentRequest current = new IdempotentRequest(fingerprint);
+            IdempotentRequest existing = requests.asMap().putIfAbsent(key, current);
+            if (existing == null) {
+                execute(key, current, new CachedBodyRequest(request, body), response, filterChain);
+                return;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                mismatched.increment();
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                return;
+            }
+            StoredResponse storedResponse;
+            try {
+                storedResponse = awaitOutcome(existing);
+            } catch (TimeoutException e) {
+                timedOut.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+                response.sendError(HttpStatus.CONFLICT.value());
+                return;
+            }
+            if (storedResponse != null) {
+                replayed.increment();
+                storedResponse.writeTo(response);
+                return;
+            }
+            // the original request failed and released the key, so this one runs instead
+        }
+    }
+
+    private void execute(String key, IdempotentRequest current, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse storedResponse = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (HttpStatusCode.valueOf(responseWrapper.getStatus()).is2xxSuccessful()) {
+                storedResponse = StoredResponse.of(responseWrapper);
+            }
+        } finally {
+            if (storedResponse == null) {
+                requests.asMap().remove(key, current);
+            }
+            current.outcome.complete(storedResponse);
+            executed.increment();
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private StoredResponse awaitOutcome(IdempotentRequest request) throws TimeoutException {
+        try {
+            return request.outcome.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("beer.idempotency.requests")
+                .tag("outcome", outcome)
+                .description("Requests with an idempotency key, by whether they ran, were replayed or were rejected")
+                .register(meterRegistry);
+    }
+
+    private static class IdempotentRequest {
+
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> outcome = new CompletableFuture<>();
+
+        IdempotentRequest(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static class StoredResponse {
+
+        private final int status;
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        private StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        static StoredResponse of(ContentCachingResponseWrapper response) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : response.getHeaderNames()) {
+                if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, new ArrayList<>(response.getHeaders(name)));
+                }
+            }
+            return new StoredResponse(response.getStatus(), response.getContentType(), headers,
+                    response.getContentAsByteArray());
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return inputStream.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.severo.beerstock.filter;
+
+import com.severo.beerstock.utils.AimdConcurrencyLimiter;
+import com.severo.beerstock.utils.GcraRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protects the database from bursts of stock changes: {@code PATCH} requests to increment or decrement a beer's stock
+ * are rate limited per client address and per beer, and then admitted only while fewer than an adaptive limit are in
+ * flight.
+ * <p>
+ * A client or beer over its rate gets 429 with a Retry-After header telling when its bucket has a token again. When the
+ * concurrency limit is reached the request is shed with 503 before it can queue on the connection pool. The limit
+ * grows while stock changes complete within {@code latency-threshold-ms} and backs off as soon as they do not, so
+ * excess load is turned away before latency collapses for everyone else.
+ * <p>
+ * Runs after {@link IdempotencyFilter}, so retries answered from remembered responses take neither a token nor a slot.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "beerstock.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BEER_PATH_PREFIX = "/api/v1/beers/";
+    private static final String INCREMENT_PATH_SUFFIX = "/increment";
+    private static final String DECREMENT_PATH_SUFFIX = "/decrement";
+    private static final String SHED_RETRY_AFTER_SECONDS = "1";
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final long originNanos = System.nanoTime();
+    private final GcraRateLimiter clientLimiter;
+    private final GcraRateLimiter beerLimiter;
+    private final AimdConcurrencyLimiter concurrencyLimiter;
+    private final Counter allowed;
+    private final Counter clientLimited;
+    private final Counter beerLimited;
+    private final Counter shed;
+
+    @Autowired
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${beerstock.rate-limit.buckets:65536}") int buckets,
+                           @Value("${beerstock.rate-limit.client.requests-per-second:50}") double clientRequestsPerSecond,
+                           @Value("${beerstock.rate-limit.client.burst:100}") int clientBurst,
+                           @Value("${beerstock.rate-limit.beer.requests-per-second:100}") double beerRequestsPerSecond,
+                           @Value("${beerstock.rate-limit.beer.burst:200}") int beerBurst,
+                           @Value("${beerstock.rate-limit.concurrency.initial-limit:20}") int initialLimit,
+                           @Value("${beerstock.rate-limit.concurrency.min-limit:1}") int minLimit,
+                           @Value("${beerstock.rate-limit.concurrency.max-limit:200}") int maxLimit,
+                           @Value("${beerstock.rate-limit.concurrency.latency-threshold-ms:250}") long latencyThresholdMs) {
+        this.clientLimiter = new GcraRateLimiter(buckets, clientRequestsPerSecond, clientBurst);
+        this.beerLimiter = new GcraRateLimiter(buckets, beerRequestsPerSecond, beerBurst);
+        this.concurrencyLimiter = new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs), BACKOFF_RATIO);
+        this.allowed = requestCounter(meterRegistry, "allowed");
+        this.clientLimited = requestCounter(meterRegistry, "client_limited");
+        this.beerLimited = requestCounter(meterRegistry, "beer_limited");
+        this.shed = requestCounter(meterRegistry, "shed");
+        Gauge.builder("beer.ratelimit.concurrency.limit", concurrencyLimiter, AimdConcurrencyLimiter::getLimit)
+                .description("Stock changes currently allowed in flight at once")
+                .register(meterRegistry);
+        Gauge.builder("beer.ratelimit.concurrency.inflight", concurrencyLimiter, AimdConcurrencyLimiter::getInFlight)
+                .description("Stock changes currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("beer.ratelimit.buckets.draining", clientLimiter, limiter -> limiter.drainingBuckets(now()))
+                .tag("limiter", "client")
+                .description("Rate limit buckets used recently enough not to be full")
+                .register(meterRegistry);
+        Gauge.builder("beer.ratelimit.buckets.draining", beerLimiter, limiter -> limiter.drainingBuckets(now()))
+                .tag("limiter", "beer")
+                .description("Rate limit buckets used recently enough not to be full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.PATCH.matches(request.getMethod()) || beerId(request.getRequestURI()) < 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = now();
+        long waitNanos = clientLimiter.tryAcquire(request.getRemoteAddr().hashCode(), startNanos);
+        if (waitNanos > 0) {
+            clientLimited.increment();
+            tooManyRequests(response, waitNanos);
+            return;
+        }
+        waitNanos = beerLimiter.tryAcquire(beerId(request.getRequestURI()), startNanos);
+        if (waitNanos > 0) {
+            beerLimited.increment();
+            tooManyRequests(response, waitNanos);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, SHED_RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        allowed.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.onComplete(startNanos, now(),
+                    response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
+    private long now() {
+        return System.nanoTime() - originNanos;
+    }
+
+    /**
+     * Parses the beer id out of {@code /api/v1/beers/{id}/.../increment} or {@code .../decrement} without allocating.
+     *
+     * @return the beer id, or -1 when the path is not a stock change
+     */
+    static long beerId(String uri) {
+        if (!uri.startsWith(BEER_PATH_PREFIX)
+                || !(uri.endsWith(INCREMENT_PATH_SUFFIX) || uri.endsWith(DECREMENT_PATH_SUFFIX))) {
+            return -1;
+        }
+        long id = 0;
+        int position = BEER_PATH_PREFIX.length();
+        int digits = 0;
+        while (position < uri.length() && uri.charAt(position) != '/') {
+            char c = uri.charAt(position++);
+            if (c < '0' || c > '9' || ++digits > 18) {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return digits == 0 ? -1 : id;
+    }
+
+    private static void tooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("beer.ratelimit.requests")
+                .tag("outcome", outcome)
+                .description("Stock change requests, by whether they were admitted, rate limited or shed")
+                .register(meterRegistry);
+    }
+}
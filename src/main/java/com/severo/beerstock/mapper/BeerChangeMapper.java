@@ -0,0 +1,14 @@
+package com.severo.beerstock.mapper;
+
+import com.severo.beerstock.dto.BeerChangeDTO;
+import com.severo.beerstock.entity.BeerChange;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface BeerChangeMapper {
+
+    BeerChangeMapper INSTANCE = Mappers.getMapper(BeerChangeMapper.class);
+
+    BeerChangeDTO toDTO(BeerChange beerChange);
+}
@@ -3,6 +3,7 @@ package com.severo.beerstock.mapper;
 import com.severo.beerstock.dto.BeerDTO;
 import com.severo.beerstock.entity.Beer;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -10,6 +11,11 @@ public interface BeerMapper {
 
     BeerMapper INSTANCE = Mappers.getMapper(BeerMapper.class);
 
+    @Mapping(target = "reserved", ignore = true)
+    @Mapping(target = "allocated", ignore = true)
+    @Mapping(target = "lowStock", ignore = true)
+    @Mapping(target = "nameKey", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Beer toModel(BeerDTO beerDTO);
 
     BeerDTO toDTO(Beer beer);
@@ -0,0 +1,18 @@
+package com.severo.beerstock.mapper;
+
+import com.severo.beerstock.dto.LocationDTO;
+import com.severo.beerstock.entity.Location;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface LocationMapper {
+
+    LocationMapper INSTANCE = Mappers.getMapper(LocationMapper.class);
+
+    @Mapping(target = "quantity", ignore = true)
+    Location toModel(LocationDTO locationDTO);
+
+    LocationDTO toDTO(Location location);
+}
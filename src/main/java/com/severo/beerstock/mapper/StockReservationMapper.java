@@ -0,0 +1,14 @@
+package com.severo.beerstock.mapper;
+
+import com.severo.beerstock.dto.StockReservationDTO;
+import com.severo.beerstock.entity.StockReservation;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface StockReservationMapper {
+
+    StockReservationMapper INSTANCE = Mappers.getMapper(StockReservationMapper.class);
+
+    StockReservationDTO toDTO(StockReservation stockReservation);
+}
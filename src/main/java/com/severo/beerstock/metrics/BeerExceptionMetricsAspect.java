@@ -0,0 +1,23 @@
+package com.severo.beerstock.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerExceptionMetricsAspect {
+
+    private static final String EXCEPTIONS_METRIC = "beer.service.exceptions";
+
+    private final MeterRegistry meterRegistry;
+
+    @AfterThrowing(pointcut = "execution(public * com.severo.beerstock.service.BeerService.*(..))", throwing = "exception")
+    public void countException(Exception exception) {
+        meterRegistry.counter(EXCEPTIONS_METRIC, "exception", exception.getClass().getSimpleName()).increment();
+    }
+}
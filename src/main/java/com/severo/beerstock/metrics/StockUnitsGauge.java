@@ -0,0 +1,33 @@
+package com.severo.beerstock.metrics;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Total beer units in stock, as read by the {@code beer.stock.units} gauge. Computing the total queries the database,
+ * so it is recomputed at most once per refresh interval however often the registry is scraped.
+ */
+public class StockUnitsGauge {
+
+    private final LongSupplier totalUnits;
+    private final long refreshNanos;
+
+    private volatile long units;
+    private volatile long refreshedAt;
+    private volatile boolean loaded;
+
+    public StockUnitsGauge(LongSupplier totalUnits, Duration refreshInterval) {
+        this.totalUnits = totalUnits;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    public double value() {
+        long now = System.nanoTime();
+        if (!loaded || now - refreshedAt >= refreshNanos) {
+            units = totalUnits.getAsLong();
+            refreshedAt = now;
+            loaded = true;
+        }
+        return units;
+    }
+}
@@ -0,0 +1,20 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.entity.BeerChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BeerChangeRepository extends JpaRepository<BeerChange, Long> {
+
+    List<BeerChange> findBySeqGreaterThanAndSeqLessThanEqualOrderBySeq(Long since, Long until, Pageable pageable);
+
+    @Query("select distinct c.beerId from BeerChange c where c.seq > :since and c.seq <= :until")
+    List<Long> findBeerIdsChangedBetween(@Param("since") long since, @Param("until") long until);
+
+    @Query("select coalesce(max(c.seq), 0) from BeerChange c")
+    Long findMaxSeq();
+}
@@ -1,11 +1,73 @@
 package com.severo.beerstock.repository;
 
+import com.severo.beerstock.dto.StockAvailabilityDTO;
 import com.severo.beerstock.entity.Beer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BeerRepository extends JpaRepository<Beer, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-    Optional<Beer> findByName(String name);
+public interface BeerRepository extends JpaRepository<Beer, Long>, JpaSpecificationExecutor<Beer>, BeerRepositoryCustom {
+
+    Optional<Beer> findByNameKey(String nameKey);
+
+    @Query("select b.id from Beer b where b.id in :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Beer b order by b.id")
+    Stream<Beer> streamAll();
+
+    Page<Beer> findByLowStockTrue(Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.reserved = b.reserved + :quantity " +
+            "where b.id = :id and b.quantity - b.reserved - b.allocated >= :quantity")
+    int reserveQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.reserved = b.reserved - :quantity where b.id = :id")
+    int releaseReservedQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity - :quantity, b.reserved = b.reserved - :quantity, " +
+            "b.version = b.version + 1 where b.id = :id")
+    int consumeReservedQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Moves stock in or out of the allocated part; a positive quantity must fit under the beer's max, a negative one
+     * must already be allocated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity + :quantity, b.allocated = b.allocated + :quantity, " +
+            "b.version = b.version + 1 where b.id = :id and b.quantity + :quantity <= b.max and b.allocated + :quantity >= 0")
+    int addAllocatedQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Moves unallocated, unreserved stock into the allocated part, or allocated stock back out with a negative quantity.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.allocated = b.allocated + :quantity where b.id = :id " +
+            "and b.quantity - b.reserved - b.allocated >= :quantity and b.allocated + :quantity >= 0")
+    int allocateQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("select new com.severo.beerstock.dto.StockAvailabilityDTO(b.id, b.quantity, b.reserved, b.quantity - b.reserved - b.allocated) " +
+            "from Beer b where b.id = :id")
+    Optional<StockAvailabilityDTO> findAvailabilityById(@Param("id") Long id);
 }
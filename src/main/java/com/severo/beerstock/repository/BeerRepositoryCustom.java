@@ -0,0 +1,48 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.dto.StockAdjustmentDTO;
+import com.severo.beerstock.entity.Beer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Statements sent through JDBC. The guarded stock updates return the updated row from the UPDATE itself, so a stock
+ * change costs one round trip instead of an update followed by a select.
+ */
+public interface BeerRepositoryCustom {
+
+    /**
+     * @return the updated beer, or empty when the beer does not exist or the increment would exceed its max
+     */
+    Optional<Beer> incrementQuantity(Long id, int quantity);
+
+    /**
+     * @return the updated beer, or empty when the beer does not exist or has less unreserved, unallocated stock
+     */
+    Optional<Beer> decrementQuantity(Long id, int quantity);
+
+    /**
+     * Like {@link #incrementQuantity(Long, int)}, but only while the beer is still at {@code version}.
+     */
+    Optional<Beer> incrementQuantityIfVersion(Long id, int quantity, long version);
+
+    /**
+     * Like {@link #decrementQuantity(Long, int)}, but only while the beer is still at {@code version}.
+     */
+    Optional<Beer> decrementQuantityIfVersion(Long id, int quantity, long version);
+
+    /**
+     * Applies every adjustment as a guarded UPDATE sent in a single JDBC batch.
+     *
+     * @return the update count of each adjustment, in the same order; 0 means the beer
+     * does not exist or the delta would take its quantity outside of {@code reserved..max}
+     */
+    int[] adjustQuantities(List<StockAdjustmentDTO> adjustments);
+
+    /**
+     * Adds each delta to the quantity of its beer without checking any bound, in a single JDBC batch.
+     */
+    void applyQuantityDeltas(Map<Long, Integer> deltasByBeerId);
+}
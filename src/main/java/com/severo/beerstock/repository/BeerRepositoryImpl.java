@@ -0,0 +1,107 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.dto.StockAdjustmentDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerRepositoryImpl implements BeerRepositoryCustom {
+
+    private static final String ADJUST_QUANTITY_SQL = "update beer set quantity = quantity + ?, version = version + 1 " +
+            "where id = ? and quantity + ? between reserved + allocated and max";
+    private static final String ADD_QUANTITY_SQL = "update beer set quantity = quantity + ?, version = version + 1 where id = ?";
+
+    /**
+     * H2 returns the rows changed by the wrapped UPDATE, as they are after it, from {@code FINAL TABLE}.
+     */
+    private static final String SELECT_UPDATED_SQL = "select id, name, name_key, brand, max, quantity, reserved, allocated, " +
+            "reorder_threshold, low_stock, type, version from final table (%s)";
+    private static final String INCREMENT_QUANTITY_SQL = String.format(SELECT_UPDATED_SQL,
+            "update beer set quantity = quantity + ?, version = version + 1 where id = ? and quantity + ? <= max");
+    private static final String DECREMENT_QUANTITY_SQL = String.format(SELECT_UPDATED_SQL,
+            "update beer set quantity = quantity - ?, version = version + 1 where id = ? and quantity - reserved - allocated >= ?");
+    private static final String INCREMENT_QUANTITY_IF_VERSION_SQL = String.format(SELECT_UPDATED_SQL,
+            "update beer set quantity = quantity + ?, version = version + 1 where id = ? and version = ? and quantity + ? <= max");
+    private static final String DECREMENT_QUANTITY_IF_VERSION_SQL = String.format(SELECT_UPDATED_SQL,
+            "update beer set quantity = quantity - ?, version = version + 1 " +
+                    "where id = ? and version = ? and quantity - reserved - allocated >= ?");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Beer> incrementQuantity(Long id, int quantity) {
+        return updateReturning(INCREMENT_QUANTITY_SQL, quantity, id, quantity);
+    }
+
+    @Override
+    public Optional<Beer> decrementQuantity(Long id, int quantity) {
+        return updateReturning(DECREMENT_QUANTITY_SQL, quantity, id, quantity);
+    }
+
+    @Override
+    public Optional<Beer> incrementQuantityIfVersion(Long id, int quantity, long version) {
+        return updateReturning(INCREMENT_QUANTITY_IF_VERSION_SQL, quantity, id, version, quantity);
+    }
+
+    @Override
+    public Optional<Beer> decrementQuantityIfVersion(Long id, int quantity, long version) {
+        return updateReturning(DECREMENT_QUANTITY_IF_VERSION_SQL, quantity, id, version, quantity);
+    }
+
+    @Override
+    public int[] adjustQuantities(List<StockAdjustmentDTO> adjustments) {
+        return jdbcTemplate.batchUpdate(ADJUST_QUANTITY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockAdjustmentDTO adjustment = adjustments.get(i);
+                ps.setInt(1, adjustment.getDelta());
+                ps.setLong(2, adjustment.getId());
+                ps.setInt(3, adjustment.getDelta());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return adjustments.size();
+            }
+        });
+    }
+
+    @Override
+    public void applyQuantityDeltas(Map<Long, Integer> deltasByBeerId) {
+        List<Object[]> batchArgs = new ArrayList<>(deltasByBeerId.size());
+        deltasByBeerId.forEach((beerId, delta) -> batchArgs.add(new Object[]{delta, beerId}));
+        jdbcTemplate.batchUpdate(ADD_QUANTITY_SQL, batchArgs);
+    }
+
+    private Optional<Beer> updateReturning(String sql, Object... args) {
+        return jdbcTemplate.query(sql, BeerRepositoryImpl::toBeer, args).stream().findFirst();
+    }
+
+    private static Beer toBeer(ResultSet row, int rowNum) throws SQLException {
+        return new Beer(
+                row.getLong("id"),
+                row.getString("name"),
+                row.getString("name_key"),
+                row.getString("brand"),
+                row.getInt("max"),
+                row.getInt("quantity"),
+                row.getInt("reserved"),
+                row.getInt("allocated"),
+                row.getInt("reorder_threshold"),
+                row.getBoolean("low_stock"),
+                BeerType.valueOf(row.getString("type")),
+                row.getLong("version"));
+    }
+}
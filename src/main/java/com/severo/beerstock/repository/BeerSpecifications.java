@@ -0,0 +1,35 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.dto.BeerFilterDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerType;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class BeerSpecifications {
+
+    private BeerSpecifications() {
+    }
+
+    public static Specification<Beer> fromFilter(BeerFilterDTO filter) {
+        return Specification.where(hasType(filter.getType()))
+                .and(hasBrand(filter.getBrand()))
+                .and(hasQuantityLessThan(filter.getLowStockThreshold()))
+                .and(hasIdGreaterThan(filter.getAfterId()));
+    }
+
+    public static Specification<Beer> hasType(BeerType type) {
+        return type == null ? null : (root, query, builder) -> builder.equal(root.get("type"), type);
+    }
+
+    public static Specification<Beer> hasBrand(String brand) {
+        return brand == null ? null : (root, query, builder) -> builder.equal(root.get("brand"), brand);
+    }
+
+    public static Specification<Beer> hasQuantityLessThan(Integer threshold) {
+        return threshold == null ? null : (root, query, builder) -> builder.lessThan(root.get("quantity"), threshold);
+    }
+
+    public static Specification<Beer> hasIdGreaterThan(Long id) {
+        return id == null ? null : (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+}
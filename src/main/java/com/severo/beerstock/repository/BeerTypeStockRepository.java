@@ -0,0 +1,8 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.entity.BeerTypeStock;
+import com.severo.beerstock.enums.BeerType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BeerTypeStockRepository extends JpaRepository<BeerTypeStock, BeerType>, BeerTypeStockRepositoryCustom {
+}
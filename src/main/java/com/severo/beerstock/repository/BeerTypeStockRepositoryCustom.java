@@ -0,0 +1,24 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.dto.BeerTypeStockDTO;
+
+import java.util.List;
+
+/**
+ * Stock totals per beer type. The stored totals only include the changes folded so far; reads add the committed
+ * changes recorded after the fold position, so they are as current as the change log.
+ */
+public interface BeerTypeStockRepositoryCustom {
+
+    List<BeerTypeStockDTO> findAllStock();
+
+    Long sumQuantity();
+
+    /**
+     * Adds the changes recorded after the fold position and up to {@code untilSeq} to the stored totals and moves the
+     * position to {@code untilSeq}; must run inside a transaction.
+     *
+     * @return the number of beer types whose total moved
+     */
+    int foldChanges(long untilSeq);
+}
@@ -0,0 +1,56 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.dto.BeerTypeStockDTO;
+import com.severo.beerstock.enums.BeerType;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerTypeStockRepositoryImpl implements BeerTypeStockRepositoryCustom {
+
+    private static final String STOCK_SQL = "select type, quantity from beer_type_stock " +
+            "union all " +
+            "select type, delta from beer_change " +
+            "where seq > (select seq from beer_type_stock_position where id = 1) and type is not null";
+    private static final String FIND_ALL_STOCK_SQL = "select type, sum(quantity) as quantity from (" + STOCK_SQL + ") stock " +
+            "group by type order by type";
+    private static final String SUM_QUANTITY_SQL = "select coalesce(sum(quantity), 0) from (" + STOCK_SQL + ") stock";
+
+    private static final String LOCK_POSITION_SQL = "select seq from beer_type_stock_position where id = 1 for update";
+    private static final String SUM_CHANGES_SQL = "select type, sum(delta) as delta from beer_change " +
+            "where seq > ? and seq <= ? and type is not null group by type";
+    private static final String ADD_STOCK_SQL = "merge into beer_type_stock t " +
+            "using (select cast(? as varchar(32)) as type, cast(? as bigint) as delta) c on t.type = c.type " +
+            "when matched then update set quantity = t.quantity + c.delta " +
+            "when not matched then insert (type, quantity) values (c.type, c.delta)";
+    private static final String MOVE_POSITION_SQL = "update beer_type_stock_position set seq = ? where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<BeerTypeStockDTO> findAllStock() {
+        return jdbcTemplate.query(FIND_ALL_STOCK_SQL, (row, rowNum) ->
+                new BeerTypeStockDTO(BeerType.valueOf(row.getString("type")), row.getLong("quantity")));
+    }
+
+    @Override
+    public Long sumQuantity() {
+        return jdbcTemplate.queryForObject(SUM_QUANTITY_SQL, Long.class);
+    }
+
+    @Override
+    public int foldChanges(long untilSeq) {
+        Long position = jdbcTemplate.queryForObject(LOCK_POSITION_SQL, Long.class);
+        if (position == null || position >= untilSeq) {
+            return 0;
+        }
+        List<Object[]> deltas = jdbcTemplate.query(SUM_CHANGES_SQL, (row, rowNum) ->
+                new Object[]{row.getString("type"), row.getLong("delta")}, position, untilSeq);
+        jdbcTemplate.batchUpdate(ADD_STOCK_SQL, deltas);
+        jdbcTemplate.update(MOVE_POSITION_SQL, untilSeq);
+        return deltas.size();
+    }
+}
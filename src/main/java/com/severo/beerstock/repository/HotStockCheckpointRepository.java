@@ -0,0 +1,11 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.entity.HotStockCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface HotStockCheckpointRepository extends JpaRepository<HotStockCheckpoint, Long> {
+
+    @Query("select max(c.segmentId) from HotStockCheckpoint c")
+    Long findMaxSegmentId();
+}
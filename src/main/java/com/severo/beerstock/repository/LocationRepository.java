@@ -0,0 +1,23 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.entity.Location;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Location l set l.quantity = l.quantity + :quantity where l.id = :id")
+    int addQuantity(@Param("id") Long id, @Param("quantity") long quantity);
+
+    /**
+     * Takes a beer's stock out of the totals of every location holding it; must run before its rows are deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Location l set l.quantity = l.quantity - " +
+            "(select s.quantity from LocationStock s where s.beerId = :beerId and s.locationId = l.id) " +
+            "where l.id in (select s.locationId from LocationStock s where s.beerId = :beerId)")
+    int removeBeerQuantities(@Param("beerId") Long beerId);
+}
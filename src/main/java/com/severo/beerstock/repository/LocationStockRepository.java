@@ -0,0 +1,21 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.dto.LocationStockDTO;
+import com.severo.beerstock.entity.LocationStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LocationStockRepository extends JpaRepository<LocationStock, LocationStock.Key> {
+
+    @Query("select new com.severo.beerstock.dto.LocationStockDTO(s.locationId, l.name, s.quantity) " +
+            "from LocationStock s join Location l on l.id = s.locationId where s.beerId = :beerId order by l.name")
+    List<LocationStockDTO> findStockByBeerId(@Param("beerId") Long beerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from LocationStock s where s.beerId = :beerId")
+    int deleteByBeerId(@Param("beerId") Long beerId);
+}
@@ -0,0 +1,115 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.config.ReactiveConfig;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.enums.BeerType;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * R2DBC access to the same {@code beer} table mapped by {@link Beer}. Stock updates run the same guarded statements as
+ * {@link BeerRepositoryImpl}, and their changes are inserted into {@code beer_change} by the caller's transaction.
+ */
+@Repository
+@Profile(ReactiveConfig.REACTIVE_PROFILE)
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerRepository {
+
+    private static final String SELECT_SQL = "select id, name, name_key, brand, max, quantity, reserved, allocated, reorder_threshold, low_stock, type, version from beer";
+
+    private static final String SELECT_UPDATED_SQL = "select id, name, name_key, brand, max, quantity, reserved, allocated, " +
+            "reorder_threshold, low_stock, type, version from final table (%s)";
+    private static final String INCREMENT_QUANTITY_SQL = String.format(SELECT_UPDATED_SQL,
+            "update beer set quantity = quantity + :quantity, version = version + 1 where id = :id and quantity + :quantity <= max");
+    private static final String DECREMENT_QUANTITY_SQL = String.format(SELECT_UPDATED_SQL,
+            "update beer set quantity = quantity - :quantity, version = version + 1 " +
+                    "where id = :id and quantity - reserved - allocated >= :quantity");
+    private static final String INSERT_CHANGE_SQL = "insert into beer_change (seq, beer_id, name, type, change_type, delta, quantity, changed_at) " +
+            "values (:seq, :beerId, :name, :type, :changeType, :delta, :quantity, :changedAt)";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Beer> findById(Long id) {
+        return databaseClient.sql(SELECT_SQL + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveBeerRepository::toBeer)
+                .one();
+    }
+
+    public Mono<Beer> findByNameKey(String nameKey) {
+        return databaseClient.sql(SELECT_SQL + " where name_key = :nameKey")
+                .bind("nameKey", nameKey)
+                .map(ReactiveBeerRepository::toBeer)
+                .one();
+    }
+
+    public Flux<Beer> findAll() {
+        return databaseClient.sql(SELECT_SQL + " order by id")
+                .map(ReactiveBeerRepository::toBeer)
+                .all();
+    }
+
+    /**
+     * @return the updated beer, or empty if it does not exist or the increment would exceed its max
+     */
+    public Mono<Beer> incrementQuantity(Long id, int quantity) {
+        return updateReturning(INCREMENT_QUANTITY_SQL, id, quantity);
+    }
+
+    /**
+     * @return the updated beer, or empty if it does not exist or not enough of its stock is free
+     */
+    public Mono<Beer> decrementQuantity(Long id, int quantity) {
+        return updateReturning(DECREMENT_QUANTITY_SQL, id, quantity);
+    }
+
+    /**
+     * Inserts the change made to {@code beer}, which must be the row as it is after the change.
+     */
+    public Mono<Void> insertChange(long seq, Beer beer, BeerChangeType changeType, int delta) {
+        return databaseClient.sql(INSERT_CHANGE_SQL)
+                .bind("seq", seq)
+                .bind("beerId", beer.getId())
+                .bind("name", beer.getName())
+                .bind("type", beer.getType().name())
+                .bind("changeType", changeType.name())
+                .bind("delta", delta)
+                .bind("quantity", beer.getQuantity())
+                .bind("changedAt", OffsetDateTime.now(ZoneOffset.UTC))
+                .then();
+    }
+
+    private Mono<Beer> updateReturning(String sql, Long id, int quantity) {
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .bind("quantity", quantity)
+                .map(ReactiveBeerRepository::toBeer)
+                .one();
+    }
+
+    private static Beer toBeer(Readable row) {
+        return new Beer(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("name_key", String.class),
+                row.get("brand", String.class),
+                row.get("max", Integer.class),
+                row.get("quantity", Integer.class),
+                row.get("reserved", Integer.class),
+                row.get("allocated", Integer.class),
+                row.get("reorder_threshold", Integer.class),
+                row.get("low_stock", Boolean.class),
+                BeerType.valueOf(row.get("type", String.class)),
+                row.get("version", Long.class));
+    }
+}
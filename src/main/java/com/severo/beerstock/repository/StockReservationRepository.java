@@ -0,0 +1,23 @@
+package com.severo.beerstock.repository;
+
+import com.severo.beerstock.entity.StockReservation;
+import com.severo.beerstock.enums.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findByStatusAndExpiresAtBefore(ReservationStatus status, Instant expiresAt, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update StockReservation r set r.status = :newStatus where r.id = :id and r.status = :currentStatus")
+    int updateStatus(@Param("id") Long id,
+                     @Param("currentStatus") ReservationStatus currentStatus,
+                     @Param("newStatus") ReservationStatus newStatus);
+}
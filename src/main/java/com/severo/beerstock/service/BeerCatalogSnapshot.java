@@ -0,0 +1,352 @@
+package com.severo.beerstock.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.mapper.BeerMapper;
+import com.severo.beerstock.repository.BeerChangeRepository;
+import com.severo.beerstock.repository.BeerRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The whole catalog as a JSON array ordered by id, kept serialized in memory so it can be served without a query.
+ * <p>
+ * Every beer is kept serialized on its own, in chunks of consecutive ids. A background refresh that finds the catalog
+ * moved since the current snapshot re-reads and re-serializes only the beers named in the change log since then, plus
+ * the loaded hot beers when their in-memory stock moved, and joins the entries into a new snapshot. Requests are never
+ * held up by a refresh; they get the latest snapshot, whose ETag names the state it was built from.
+ * <p>
+ * The gzip form is a single gzip member whose deflate stream is the concatenation of each chunk compressed on its own
+ * and ended by a sync flush, so a refresh only compresses the chunks whose beers changed.
+ */
+@Component
+public class BeerCatalogSnapshot {
+
+    private static final int RELOAD_CHUNK_SIZE = 1000;
+    private static final long IDS_PER_CHUNK = 256;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] DEFLATED_OPEN = deflate(new byte[]{'['}, 0, 1, false);
+    private static final byte[] DEFLATED_CLOSE = deflate(new byte[]{']'}, 0, 1, true);
+
+    private final BeerRepository beerRepository;
+    private final BeerChangeRepository beerChangeRepository;
+    private final BeerChangeService beerChangeService;
+    private final HotStockEngine hotStockEngine;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final boolean gzipEnabled;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    private final Lock refreshLock = new ReentrantLock();
+    private final NavigableMap<Long, Chunk> chunks = new TreeMap<>();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public BeerCatalogSnapshot(BeerRepository beerRepository,
+                               BeerChangeRepository beerChangeRepository,
+                               BeerChangeService beerChangeService,
+                               HotStockEngine hotStockEngine,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${beerstock.catalog.gzip:true}") boolean gzipEnabled) {
+        this.beerRepository = beerRepository;
+        this.beerChangeRepository = beerChangeRepository;
+        this.beerChangeService = beerChangeService;
+        this.hotStockEngine = hotStockEngine;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    /**
+     * Serializes the whole catalog again, dropping every entry kept so far.
+     */
+    @PostConstruct
+    public void load() {
+        refreshLock.lock();
+        try {
+            long watermark = beerChangeService.committedWatermark();
+            long hotModifications = hotStockEngine.modificationCount();
+            chunks.clear();
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Beer> beerStream = beerRepository.streamAll()) {
+                    beerStream.forEach(beer -> put(beer.getId(), serialize(beer)));
+                }
+            });
+            snapshot = build(watermark, hotModifications);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the latest snapshot without waiting for pending changes; they show up after the next refresh.
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Brings the snapshot up to every change committed before the call.
+     */
+    @Scheduled(fixedDelayString = "${beerstock.catalog.refresh-interval-ms:100}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Snapshot previous = snapshot;
+            long watermark = beerChangeService.committedWatermark();
+            long hotModifications = hotStockEngine.modificationCount();
+            if (previous.isAtLeast(watermark, hotModifications)) {
+                return;
+            }
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                Set<Long> changedIds = new HashSet<>(beerChangeRepository.findBeerIdsChangedBetween(previous.watermark, watermark));
+                if (previous.hotModifications != hotModifications) {
+                    changedIds.addAll(hotStockEngine.loadedBeerIds());
+                }
+                reload(changedIds);
+            });
+            snapshot = build(watermark, hotModifications);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void reload(Set<Long> beerIds) {
+        List<Long> ids = new ArrayList<>(beerIds);
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Long> idChunk = ids.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, ids.size()));
+            idChunk.forEach(this::remove);
+            for (Beer beer : beerRepository.findAllById(idChunk)) {
+                put(beer.getId(), serialize(beer));
+            }
+        }
+    }
+
+    private void put(Long beerId, byte[] entry) {
+        chunks.computeIfAbsent(beerId / IDS_PER_CHUNK, key -> new Chunk()).put(beerId, entry);
+    }
+
+    private void remove(Long beerId) {
+        Chunk chunk = chunks.get(beerId / IDS_PER_CHUNK);
+        if (chunk != null && chunk.remove(beerId) && chunk.isEmpty()) {
+            chunks.remove(beerId / IDS_PER_CHUNK);
+        }
+    }
+
+    private byte[] serialize(Beer beer) {
+        BeerDTO beerDTO = beerMapper.toDTO(beer);
+        hotStockEngine.applyInMemoryQuantity(beerDTO);
+        try {
+            return objectMapper.writeValueAsBytes(beerDTO);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize beer " + beer.getId(), e);
+        }
+    }
+
+    private Snapshot build(long watermark, long hotModifications) {
+        int size = 2;
+        for (Chunk chunk : chunks.values()) {
+            size += chunk.json().length;
+        }
+        byte[] json = new byte[chunks.isEmpty() ? size : size - 1];
+        int position = 0;
+        json[position++] = '[';
+        for (Chunk chunk : chunks.values()) {
+            byte[] chunkJson = chunk.json();
+            // every entry is preceded by a comma, which the first one must not have
+            int offset = position == 1 ? 1 : 0;
+            System.arraycopy(chunkJson, offset, json, position, chunkJson.length - offset);
+            position += chunkJson.length - offset;
+        }
+        json[position] = ']';
+        return new Snapshot(watermark, hotModifications, json, gzipEnabled ? gzip(json) : null);
+    }
+
+    private byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        compressed.writeBytes(GZIP_HEADER);
+        compressed.writeBytes(DEFLATED_OPEN);
+        boolean first = true;
+        for (Chunk chunk : chunks.values()) {
+            compressed.writeBytes(first ? chunk.deflatedFirst() : chunk.deflated());
+            first = false;
+        }
+        compressed.writeBytes(DEFLATED_CLOSE);
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        writeIntLittleEndian(compressed, (int) crc.getValue());
+        writeIntLittleEndian(compressed, json.length);
+        return compressed.toByteArray();
+    }
+
+    private static void writeIntLittleEndian(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    /**
+     * Raw deflate of the given bytes. Unless {@code last}, the output ends on a byte boundary without a final block,
+     * so it can be followed by the output of another deflater.
+     */
+    private static byte[] deflate(byte[] input, int offset, int length, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input, offset, length);
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    deflated.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int written;
+                do {
+                    written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    deflated.write(buffer, 0, written);
+                } while (written == buffer.length);
+            }
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Serialized beers of one id range, each preceded by a comma. The joined and compressed forms are kept until an
+     * entry changes.
+     */
+    private static class Chunk {
+
+        private final NavigableMap<Long, byte[]> entries = new TreeMap<>();
+        private byte[] json;
+        private byte[] deflated;
+        private byte[] deflatedFirst;
+
+        void put(Long beerId, byte[] entry) {
+            entries.put(beerId, entry);
+            changed();
+        }
+
+        boolean remove(Long beerId) {
+            if (entries.remove(beerId) == null) {
+                return false;
+            }
+            changed();
+            return true;
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        byte[] json() {
+            if (json == null) {
+                int size = entries.size();
+                for (byte[] entry : entries.values()) {
+                    size += entry.length;
+                }
+                json = new byte[size];
+                int position = 0;
+                for (byte[] entry : entries.values()) {
+                    json[position++] = ',';
+                    System.arraycopy(entry, 0, json, position, entry.length);
+                    position += entry.length;
+                }
+            }
+            return json;
+        }
+
+        byte[] deflated() {
+            if (deflated == null) {
+                deflated = deflate(json(), 0, json().length, false);
+            }
+            return deflated;
+        }
+
+        /**
+         * Compressed without the leading comma, for the chunk that opens the array.
+         */
+        byte[] deflatedFirst() {
+            if (deflatedFirst == null) {
+                deflatedFirst = deflate(json(), 1, json().length - 1, false);
+            }
+            return deflatedFirst;
+        }
+
+        private void changed() {
+            json = null;
+            deflated = null;
+            deflatedFirst = null;
+        }
+    }
+
+    /**
+     * Serialized catalog as of a committed change log watermark and count of in-memory hot stock changes.
+     */
+    public static class Snapshot {
+
+        private final long watermark;
+        private final long hotModifications;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        public Snapshot(long watermark, long hotModifications, byte[] json, byte[] gzip) {
+            this.watermark = watermark;
+            this.hotModifications = hotModifications;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        /**
+         * JSON bytes of the catalog, shared by every caller and never to be modified.
+         */
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * Gzip-compressed JSON bytes, null when compression is disabled.
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public String getETag() {
+            return "\"" + watermark + "-" + hotModifications + "\"";
+        }
+
+        public String getGzipETag() {
+            return "\"" + watermark + "-" + hotModifications + "-gzip\"";
+        }
+
+        boolean isAtLeast(long watermark, long hotModifications) {
+            return this.watermark >= watermark && this.hotModifications >= hotModifications;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerChangeBatchDTO;
+import com.severo.beerstock.dto.BeerChangeDTO;
+import com.severo.beerstock.entity.BeerChange;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.mapper.BeerChangeMapper;
+import com.severo.beerstock.repository.BeerChangeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox of beer stock changes.
+ * <p>
+ * Each change is inserted by the transaction that makes it, reading the beer's name and new quantity from the
+ * updated row. Sequences are handed out in memory so that readers can stop right before the oldest sequence whose
+ * transaction has not completed yet: a consumer that resumes from the last sequence it received never skips a
+ * change committed later with a lower sequence. This assumes a single application instance owns the database.
+ */
+@Service
+public class BeerChangeService {
+
+    public static final int MAX_CHANGES_LIMIT = 1000;
+
+    private static final String INSERT_SQL = "insert into beer_change (seq, beer_id, name, type, change_type, delta, quantity, changed_at) " +
+            "select ?, id, name, type, ?, ?, quantity, ? from beer where id = ?";
+    private static final String INSERT_DELETION_SQL = "insert into beer_change (seq, beer_id, name, type, change_type, delta, quantity, changed_at) " +
+            "select ?, id, name, type, ?, -quantity, 0, ? from beer where id = ?";
+
+    private final BeerChangeRepository beerChangeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BeerChangeMapper beerChangeMapper = BeerChangeMapper.INSTANCE;
+
+    private final Lock sequenceLock = new ReentrantLock();
+    private final NavigableSet<Long> uncommittedSeqs = new TreeSet<>();
+    private long lastSeq;
+
+    @Autowired
+    public BeerChangeService(BeerChangeRepository beerChangeRepository, JdbcTemplate jdbcTemplate) {
+        this.beerChangeRepository = beerChangeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void loadLastSeq() {
+        lastSeq = beerChangeRepository.findMaxSeq();
+    }
+
+    public void record(Long beerId, BeerChangeType changeType, int delta) {
+        recordAll(changeType, Map.of(beerId, delta));
+    }
+
+    /**
+     * Records one change per beer, in the iteration order of the map. Each change carries the beer's type, so the
+     * stock totals per type are folded from the log later instead of being written here.
+     */
+    public void recordAll(BeerChangeType changeType, Map<Long, Integer> deltasByBeerId) {
+        if (deltasByBeerId.isEmpty()) {
+            return;
+        }
+        long seq = allocate(deltasByBeerId.size());
+        OffsetDateTime changedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> batchArgs = new ArrayList<>(deltasByBeerId.size());
+        for (Map.Entry<Long, Integer> entry : deltasByBeerId.entrySet()) {
+            batchArgs.add(new Object[]{seq++, changeType.name(), entry.getValue(), changedAt, entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+    }
+
+    /**
+     * Records the deletion of a beer; must run before the row is deleted.
+     */
+    public void recordDeletion(Long beerId) {
+        jdbcTemplate.update(INSERT_DELETION_SQL, allocate(1), BeerChangeType.DELETED.name(),
+                OffsetDateTime.now(ZoneOffset.UTC), beerId);
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "beer.changes", extraTags = {"operation", "findChanges"}, histogram = true)
+    public BeerChangeBatchDTO findChanges(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_LIMIT));
+        List<BeerChange> changes = beerChangeRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeq(
+                since, committedWatermark(), PageRequest.of(0, pageSize + 1));
+        boolean hasMore = changes.size() > pageSize;
+        List<BeerChangeDTO> page = changes.stream()
+                .limit(pageSize)
+                .map(beerChangeMapper::toDTO)
+                .collect(Collectors.toList());
+        return BeerChangeBatchDTO.builder()
+                .changes(page)
+                .lastSeq(page.isEmpty() ? since : page.get(page.size() - 1).getSeq())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Highest sequence below which every transaction that recorded a change has completed.
+     */
+    public long committedWatermark() {
+        sequenceLock.lock();
+        try {
+            return uncommittedSeqs.isEmpty() ? lastSeq : uncommittedSeqs.first() - 1;
+        } finally {
+            sequenceLock.unlock();
+        }
+    }
+
+    /**
+     * Hands out {@code count} sequences to a transaction that Spring's JDBC transaction synchronization does not see,
+     * such as an R2DBC one. The caller must {@link #release(long)} the first of them once that transaction has completed.
+     */
+    public long reserve(int count) {
+        sequenceLock.lock();
+        try {
+            long firstSeq = lastSeq + 1;
+            lastSeq += count;
+            uncommittedSeqs.add(firstSeq);
+            return firstSeq;
+        } finally {
+            sequenceLock.unlock();
+        }
+    }
+
+    public void release(long firstSeq) {
+        sequenceLock.lock();
+        try {
+            uncommittedSeqs.remove(firstSeq);
+        } finally {
+            sequenceLock.unlock();
+        }
+    }
+
+    private long allocate(int count) {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+                "Beer changes must be recorded inside the transaction that makes them");
+        long firstSeq = reserve(count);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(firstSeq);
+            }
+        });
+        return firstSeq;
+    }
+}
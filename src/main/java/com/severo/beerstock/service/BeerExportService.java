@@ -0,0 +1,86 @@
+package com.severo.beerstock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.ExportFormat;
+import com.severo.beerstock.mapper.BeerMapper;
+import com.severo.beerstock.repository.BeerRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerExportService {
+
+    private static final String CSV_HEADER = "id,name,brand,max,quantity,type";
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final BeerRepository beerRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @Timed(value = "beer.service", extraTags = {"operation", "export"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            writer.flush();
+        }
+        try (Stream<Beer> beers = beerRepository.streamAll()) {
+            Iterator<Beer> iterator = beers.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Beer beer = iterator.next();
+                writeLine(format, beerMapper.toDTO(beer), writer);
+                entityManager.detach(beer);
+                if (++written % FLUSH_INTERVAL == 1) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeLine(ExportFormat format, BeerDTO beerDTO, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(String.valueOf(beerDTO.getId()));
+            writer.write(',');
+            writer.write(escapeCsv(beerDTO.getName()));
+            writer.write(',');
+            writer.write(escapeCsv(beerDTO.getBrand()));
+            writer.write(',');
+            writer.write(String.valueOf(beerDTO.getMax()));
+            writer.write(',');
+            writer.write(String.valueOf(beerDTO.getQuantity()));
+            writer.write(',');
+            writer.write(beerDTO.getType().name());
+        } else {
+            writer.write(objectMapper.writeValueAsString(beerDTO));
+        }
+        writer.write('\n');
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,94 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.config.CacheConfig;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.utils.BeerNames;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Beers by normalized name, filled by reads and invalidated by writes once they commit.
+ * <p>
+ * A read that misses loads the beer and caches it, but takes the entry back out when any invalidation happened while
+ * it was loading: what it read may predate that write, and caching it would serve a stale beer until the entry
+ * expires. Writes never put, so two writes committing in either order cannot leave the older one cached either.
+ */
+@Component
+public class BeerNameCache {
+
+    private final Cache cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public BeerNameCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+    }
+
+    public <E extends Exception> BeerDTO get(String name, Loader<E> loader) throws E {
+        String nameKey = BeerNames.normalize(name);
+        BeerDTO cachedBeerDTO = cache.get(nameKey, BeerDTO.class);
+        if (cachedBeerDTO != null) {
+            return cachedBeerDTO;
+        }
+        long invalidationsBeforeLoad = invalidations.get();
+        BeerDTO loadedBeerDTO = loader.load();
+        cache.put(nameKey, loadedBeerDTO);
+        if (invalidations.get() != invalidationsBeforeLoad) {
+            cache.evict(nameKey);
+        }
+        return loadedBeerDTO;
+    }
+
+    /**
+     * @return the cached beer, or null without loading it when it is not cached
+     */
+    public BeerDTO getIfPresent(String name) {
+        return cache.get(BeerNames.normalize(name), BeerDTO.class);
+    }
+
+    /**
+     * Drops the beer once the current transaction commits, or right away outside of one.
+     */
+    public void invalidate(String name) {
+        String nameKey = BeerNames.normalize(name);
+        afterCommit(() -> {
+            invalidations.incrementAndGet();
+            cache.evict(nameKey);
+        });
+    }
+
+    /**
+     * Drops every beer once the current transaction commits, or right away outside of one.
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            invalidations.incrementAndGet();
+            cache.clear();
+        });
+    }
+
+    private static void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    public interface Loader<E extends Exception> {
+
+        BeerDTO load() throws E;
+    }
+}
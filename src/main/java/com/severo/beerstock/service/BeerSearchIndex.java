@@ -0,0 +1,220 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerSearchResultDTO;
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.utils.BeerNames;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory type-ahead index over beer names and brands.
+ * <p>
+ * Names and brands are split into lower-cased, accent-free tokens kept in a sorted map, so every query token is
+ * answered by a range scan over the tokens it prefixes. Beers must match every query token and are ranked by where
+ * the tokens matched: a whole name token beats a name prefix, which beats a brand match. The index is loaded on
+ * startup and then follows committed creations and deletions.
+ */
+@Component
+public class BeerSearchIndex {
+
+    public static final int MAX_SEARCH_LIMIT = 50;
+
+    private static final int NAME_TOKEN_SCORE = 4;
+    private static final int NAME_PREFIX_SCORE = 3;
+    private static final int BRAND_TOKEN_SCORE = 2;
+    private static final int BRAND_PREFIX_SCORE = 1;
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedBeer> beers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BeerSearchIndex(BeerRepository beerRepository, PlatformTransactionManager transactionManager) {
+        this.beerRepository = beerRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void load() {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Beer> beerStream = beerRepository.streamAll()) {
+                beerStream.forEach(this::add);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(BeerStockEventDTO event) {
+        if (event.getChange() == BeerChangeType.CREATED) {
+            beerRepository.findById(event.getId()).ifPresent(this::add);
+        } else if (event.getChange() == BeerChangeType.DELETED) {
+            remove(event.getId());
+        }
+    }
+
+    public void add(Beer beer) {
+        IndexedBeer indexedBeer = new IndexedBeer(beer.getId(), beer.getName(), beer.getBrand(), beer.getType(),
+                tokenize(beer.getName()), tokenize(beer.getBrand()));
+        IndexedBeer previous = beers.put(beer.getId(), indexedBeer);
+        if (previous != null) {
+            unindex(previous);
+        }
+        for (String token : indexedBeer.allTokens()) {
+            postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(beer.getId());
+        }
+    }
+
+    public void remove(Long id) {
+        IndexedBeer removed = beers.remove(id);
+        if (removed != null) {
+            unindex(removed);
+        }
+    }
+
+    /**
+     * Returns at most {@code limit} beers matching every token of {@code query} as a prefix, best ranked first.
+     */
+    @Timed(value = "beer.search", histogram = true)
+    public List<BeerSearchResultDTO> search(String query, BeerType type, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> candidates = null;
+        for (String queryToken : queryTokens) {
+            Set<Long> matches = new HashSet<>();
+            prefixedBy(queryToken).values().forEach(matches::addAll);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        List<BeerSearchResultDTO> results = new ArrayList<>();
+        for (Long id : candidates) {
+            IndexedBeer indexedBeer = beers.get(id);
+            if (indexedBeer != null && (type == null || indexedBeer.type == type)) {
+                results.add(indexedBeer.toResult(score(indexedBeer, queryTokens)));
+            }
+        }
+        return results.stream()
+                .sorted(Comparator.comparing(BeerSearchResultDTO::getScore).reversed()
+                        .thenComparing(result -> result.getName().length())
+                        .thenComparing(BeerSearchResultDTO::getName))
+                .limit(Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)))
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return beers.size();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(BeerNames.normalize(text).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private ConcurrentNavigableMap<String, Set<Long>> prefixedBy(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void unindex(IndexedBeer indexedBeer) {
+        for (String token : indexedBeer.allTokens()) {
+            postings.computeIfPresent(token, (key, ids) -> {
+                ids.remove(indexedBeer.id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static int score(IndexedBeer indexedBeer, List<String> queryTokens) {
+        int score = 0;
+        for (String queryToken : queryTokens) {
+            score += Math.max(fieldScore(indexedBeer.nameTokens, queryToken, NAME_TOKEN_SCORE, NAME_PREFIX_SCORE),
+                    fieldScore(indexedBeer.brandTokens, queryToken, BRAND_TOKEN_SCORE, BRAND_PREFIX_SCORE));
+        }
+        return score;
+    }
+
+    private static int fieldScore(List<String> tokens, String queryToken, int tokenScore, int prefixScore) {
+        int score = 0;
+        for (String token : tokens) {
+            if (token.equals(queryToken)) {
+                return tokenScore;
+            }
+            if (token.startsWith(queryToken)) {
+                score = prefixScore;
+            }
+        }
+        return score;
+    }
+
+    private static final class IndexedBeer {
+
+        private final Long id;
+        private final String name;
+        private final String brand;
+        private final BeerType type;
+        private final List<String> nameTokens;
+        private final List<String> brandTokens;
+
+        IndexedBeer(Long id, String name, String brand, BeerType type, List<String> nameTokens, List<String> brandTokens) {
+            this.id = id;
+            this.name = name;
+            this.brand = brand;
+            this.type = type;
+            this.nameTokens = nameTokens;
+            this.brandTokens = brandTokens;
+        }
+
+        Set<String> allTokens() {
+            Set<String> tokens = new HashSet<>(nameTokens);
+            tokens.addAll(brandTokens);
+            return tokens;
+        }
+
+        BeerSearchResultDTO toResult(int score) {
+            return BeerSearchResultDTO.builder()
+                    .id(id)
+                    .name(name)
+                    .brand(brand)
+                    .type(type)
+                    .score(score)
+                    .build();
+        }
+    }
+}
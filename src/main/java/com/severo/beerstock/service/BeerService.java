@@ -1,56 +1,220 @@
 package com.severo.beerstock.service;
 
 import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerFilterDTO;
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.dto.BeerTypeStockDTO;
+import com.severo.beerstock.dto.StockAdjustmentDTO;
+import com.severo.beerstock.dto.StockAdjustmentResultDTO;
 import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.enums.StockAdjustmentStatus;
 import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
 import com.severo.beerstock.exception.BeerNotFoundException;
 import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.BeerVersionMismatchException;
 import com.severo.beerstock.mapper.BeerMapper;
 import com.severo.beerstock.repository.BeerRepository;
-import lombok.AllArgsConstructor;
+import com.severo.beerstock.repository.BeerSpecifications;
+import com.severo.beerstock.repository.BeerTypeStockRepository;
+import com.severo.beerstock.utils.BeerNames;
+import com.severo.beerstock.utils.SingleFlight;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerService {
 
     private final BeerRepository beerRepository;
+    private final HotStockEngine hotStockEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeerChangeService beerChangeService;
+    private final LocationService locationService;
+    private final BeerTypeStockRepository beerTypeStockRepository;
+    private final BeerNameCache beerNameCache;
+    private final SingleFlight<List<Object>, BeerDTO> findByNameFlight;
+    private final SingleFlight<List<Object>, Page<BeerDTO>> listAllFlight;
     private final BeerMapper beerMapper = BeerMapper.INSTANCE;
 
+    @Autowired
+    public BeerService(BeerRepository beerRepository,
+                       HotStockEngine hotStockEngine,
+                       ApplicationEventPublisher eventPublisher,
+                       BeerChangeService beerChangeService,
+                       LocationService locationService,
+                       BeerTypeStockRepository beerTypeStockRepository,
+                       BeerNameCache beerNameCache,
+                       MeterRegistry meterRegistry) {
+        this.beerRepository = beerRepository;
+        this.hotStockEngine = hotStockEngine;
+        this.eventPublisher = eventPublisher;
+        this.beerChangeService = beerChangeService;
+        this.locationService = locationService;
+        this.beerTypeStockRepository = beerTypeStockRepository;
+        this.beerNameCache = beerNameCache;
+        this.findByNameFlight = new SingleFlight<>("findByName", meterRegistry);
+        this.listAllFlight = new SingleFlight<>("listAll", meterRegistry);
+    }
+
+    @Transactional(rollbackFor = BeerAlreadyRegisteredException.class)
+    @Timed(value = "beer.service", extraTags = {"operation", "create"}, histogram = true)
     public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
-        verifyIfIsAlreadyRegistered(beerDTO.getName());
         Beer beer = beerMapper.toModel(beerDTO);
-        Beer savedBeer = beerRepository.save(beer);
-        return beerMapper.toDTO(savedBeer);
+        try {
+            Beer savedBeer = beerRepository.saveAndFlush(beer);
+            beerChangeService.record(savedBeer.getId(), BeerChangeType.CREATED, savedBeer.getQuantity());
+            publishStockEvent(savedBeer.getId(), savedBeer.getName(), savedBeer.getQuantity(), savedBeer.getQuantity(),
+                    savedBeer.getReorderThreshold(), BeerChangeType.CREATED);
+            return beerMapper.toDTO(savedBeer);
+        } catch (DataIntegrityViolationException e) {
+            if (isNameAlreadyRegistered(e)) {
+                throw new BeerAlreadyRegisteredException(beerDTO.getName());
+            }
+            throw e;
+        }
+    }
+
+    @Transactional(rollbackFor = BeerAlreadyRegisteredException.class)
+    @Timed(value = "beer.service", extraTags = {"operation", "createAll"}, histogram = true)
+    public List<BeerDTO> createBeers(List<BeerDTO> beerDTOs) throws BeerAlreadyRegisteredException {
+        List<String> names = new ArrayList<>(beerDTOs.size());
+        Set<String> distinctNames = new HashSet<>();
+        List<Beer> beers = new ArrayList<>(beerDTOs.size());
+        for (BeerDTO beerDTO : beerDTOs) {
+            if (!distinctNames.add(BeerNames.normalize(beerDTO.getName()))) {
+                throw new BeerAlreadyRegisteredException(beerDTO.getName());
+            }
+            names.add(beerDTO.getName());
+            beers.add(beerMapper.toModel(beerDTO));
+        }
+        try {
+            List<Beer> savedBeers = beerRepository.saveAll(beers);
+            beerRepository.flush();
+            beerChangeService.recordAll(BeerChangeType.CREATED, savedBeers.stream()
+                    .collect(Collectors.toMap(Beer::getId, Beer::getQuantity, (first, second) -> first, LinkedHashMap::new)));
+            savedBeers.forEach(savedBeer -> publishStockEvent(savedBeer.getId(), savedBeer.getName(),
+                    savedBeer.getQuantity(), savedBeer.getQuantity(), savedBeer.getReorderThreshold(), BeerChangeType.CREATED));
+            return savedBeers.stream()
+                    .map(beerMapper::toDTO)
+                    .collect(Collectors.toList());
+        } catch (DataIntegrityViolationException e) {
+            if (isNameAlreadyRegistered(e)) {
+                throw new BeerAlreadyRegisteredException(names);
+            }
+            throw e;
+        }
     }
 
+    @Timed(value = "beer.service", extraTags = {"operation", "findByName"}, histogram = true)
     public BeerDTO findByName(String name) throws BeerNotFoundException {
-        Beer foundBeer = beerRepository.findByName(name)
-                .orElseThrow(() -> new BeerNotFoundException(name));
-        return beerMapper.toDTO(foundBeer);
+        String nameKey = BeerNames.normalize(name);
+        return beerNameCache.get(name, () -> findByNameFlight.execute(Arrays.asList(nameKey, catalogVersion()), () -> {
+            Beer foundBeer = beerRepository.findByNameKey(nameKey)
+                    .orElseThrow(() -> new BeerNotFoundException(name));
+            BeerDTO beerDTO = beerMapper.toDTO(foundBeer);
+            hotStockEngine.applyInMemoryQuantity(beerDTO);
+            return beerDTO;
+        }));
+    }
+
+    /**
+     * @return the beer if it is cached, or null; never queries the database
+     */
+    public BeerDTO findCachedByName(String name) {
+        return beerNameCache.getIfPresent(name);
     }
 
-    public List<BeerDTO> listAll() {
-        return beerRepository.findAll()
-                .stream()
-                .map(beerMapper::toDTO)
-                .collect(Collectors.toList());
+    /**
+     * Concurrent identical reads share one query. Reads only join a query started at the same {@link #catalogVersion()},
+     * so a caller never gets a page older than its own committed changes.
+     */
+    @Timed(value = "beer.service", extraTags = {"operation", "listAll"}, histogram = true)
+    public Page<BeerDTO> listAll(BeerFilterDTO filter, Pageable pageable) {
+        return listAllFlight.execute(Arrays.asList(filter, pageable, catalogVersion()), () ->
+                beerRepository.findAll(BeerSpecifications.fromFilter(filter), pageable)
+                        .map(beer -> {
+                            BeerDTO beerDTO = beerMapper.toDTO(beer);
+                            hotStockEngine.applyInMemoryQuantity(beerDTO);
+                            return beerDTO;
+                        }));
     }
 
+    @Timed(value = "beer.service", extraTags = {"operation", "listLowStock"}, histogram = true)
+    public Page<BeerDTO> listLowStock(Pageable pageable) {
+        return beerRepository.findByLowStockTrue(pageable)
+                .map(beer -> {
+                    BeerDTO beerDTO = beerMapper.toDTO(beer);
+                    hotStockEngine.applyInMemoryQuantity(beerDTO);
+                    return beerDTO;
+                });
+    }
+
+    /**
+     * Total stock per beer type: the folded totals plus the changes recorded since the last fold.
+     */
+    @Timed(value = "beer.service", extraTags = {"operation", "listStockByType"}, histogram = true)
+    public List<BeerTypeStockDTO> listStockByType() {
+        return beerTypeStockRepository.findAllStock();
+    }
+
+    @Transactional
+    @Timed(value = "beer.service", extraTags = {"operation", "delete"}, histogram = true)
     public void deleteById(Long id) throws BeerNotFoundException {
-        verifyIfExists(id);
+        Beer beerToDelete = verifyIfExists(id);
+        locationService.removeBeer(id);
+        beerChangeService.recordDeletion(id);
         beerRepository.deleteById(id);
+        hotStockEngine.forget(id);
+        publishStockEvent(id, beerToDelete.getName(), 0, -beerToDelete.getQuantity(), beerToDelete.getReorderThreshold(),
+                BeerChangeType.DELETED);
+        beerNameCache.invalidate(beerToDelete.getName());
+    }
+
+    private boolean isNameAlreadyRegistered(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase(Locale.ROOT).contains(Beer.NAME_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    private void publishStockEvent(Long id, String name, int quantity, int delta, Integer reorderThreshold, BeerChangeType change) {
+        eventPublisher.publishEvent(BeerStockEventDTO.builder()
+                .id(id)
+                .name(name)
+                .quantity(quantity)
+                .delta(delta)
+                .reorderThreshold(reorderThreshold)
+                .change(change)
+                .build());
     }
 
-    private void verifyIfIsAlreadyRegistered(String name) throws BeerAlreadyRegisteredException {
-        Optional<Beer> optSavedBeer = beerRepository.findByName(name);
-        if (optSavedBeer.isPresent()) {
-            throw new BeerAlreadyRegisteredException(name);
+    private void verifyVersion(Long id, long expectedVersion) throws BeerNotFoundException, BeerVersionMismatchException {
+        Beer beer = verifyIfExists(id);
+        if (beer.getVersion() == null || beer.getVersion() != expectedVersion) {
+            throw new BeerVersionMismatchException(id, expectedVersion);
         }
     }
 
@@ -59,26 +223,176 @@ public class BeerService {
                 .orElseThrow(() -> new BeerNotFoundException(id));
     }
 
+    @Transactional
+    @Timed(value = "beer.service", extraTags = {"operation", "increment"}, histogram = true)
     public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
-        Beer beerToIncrementStock = verifyIfExists(id);
-        int quantityAfterIncrement = quantityToIncrement + beerToIncrementStock.getQuantity();
-        if (quantityAfterIncrement <= beerToIncrementStock.getMax()) {
-            beerToIncrementStock.setQuantity(beerToIncrementStock.getQuantity() + quantityToIncrement);
-            Beer incrementedBeerStock = beerRepository.save(beerToIncrementStock);
-            return beerMapper.toDTO(incrementedBeerStock);
+        BeerDTO incrementedBeerDTO;
+        if (hotStockEngine.isHot(id)) {
+            incrementedBeerDTO = hotStockEngine.apply(id, quantityToIncrement);
+        } else {
+            Optional<Beer> incrementedBeer = beerRepository.incrementQuantity(id, quantityToIncrement);
+            if (!incrementedBeer.isPresent()) {
+                verifyIfExists(id);
+                throw new BeerStockExceededException(id, quantityToIncrement);
+            }
+            beerChangeService.record(id, BeerChangeType.INCREMENTED, quantityToIncrement);
+            incrementedBeerDTO = beerMapper.toDTO(incrementedBeer.get());
         }
-        throw new BeerStockExceededException(id, quantityToIncrement);
+        publishStockEvent(id, incrementedBeerDTO.getName(), incrementedBeerDTO.getQuantity(), quantityToIncrement,
+                incrementedBeerDTO.getReorderThreshold(), BeerChangeType.INCREMENTED);
+        beerNameCache.invalidate(incrementedBeerDTO.getName());
+        return incrementedBeerDTO;
     }
 
+    @Transactional
+    @Timed(value = "beer.service", extraTags = {"operation", "decrement"}, histogram = true)
     public BeerDTO decrement(Long id, int quantityDecrement) throws BeerNotFoundException, BeerStockExceededException {
-        Beer beerDecrementStock = verifyIfExists(id);
-        int quantityAfterDecrement = beerDecrementStock.getQuantity() - quantityDecrement;
-        if (quantityAfterDecrement >= 0) {
-            beerDecrementStock.setQuantity(quantityAfterDecrement);
-            Beer decrementBeerStock = beerRepository.save(beerDecrementStock);
-            return beerMapper.toDTO(decrementBeerStock);
+        BeerDTO decrementedBeerDTO;
+        if (hotStockEngine.isHot(id)) {
+            decrementedBeerDTO = hotStockEngine.apply(id, -quantityDecrement);
+        } else {
+            Optional<Beer> decrementedBeer = beerRepository.decrementQuantity(id, quantityDecrement);
+            if (!decrementedBeer.isPresent()) {
+                verifyIfExists(id);
+                throw new BeerStockExceededException(id, quantityDecrement);
+            }
+            beerChangeService.record(id, BeerChangeType.DECREMENTED, -quantityDecrement);
+            decrementedBeerDTO = beerMapper.toDTO(decrementedBeer.get());
+        }
+        publishStockEvent(id, decrementedBeerDTO.getName(), decrementedBeerDTO.getQuantity(), -quantityDecrement,
+                decrementedBeerDTO.getReorderThreshold(), BeerChangeType.DECREMENTED);
+        beerNameCache.invalidate(decrementedBeerDTO.getName());
+        return decrementedBeerDTO;
+    }
+
+    /**
+     * Increments the stock only if the beer is still at {@code expectedVersion}. Hot beers carry no version, so
+     * conditional updates on them always fail.
+     */
+    @Transactional
+    @Timed(value = "beer.service", extraTags = {"operation", "incrementIfMatch"}, histogram = true)
+    public BeerDTO incrementIfMatch(Long id, int quantityToIncrement, long expectedVersion)
+            throws BeerNotFoundException, BeerStockExceededException, BeerVersionMismatchException {
+        if (hotStockEngine.isHot(id)) {
+            throw new BeerVersionMismatchException(id, expectedVersion);
+        }
+        Optional<Beer> incrementedBeer = beerRepository.incrementQuantityIfVersion(id, quantityToIncrement, expectedVersion);
+        if (!incrementedBeer.isPresent()) {
+            verifyVersion(id, expectedVersion);
+            throw new BeerStockExceededException(id, quantityToIncrement);
+        }
+        beerChangeService.record(id, BeerChangeType.INCREMENTED, quantityToIncrement);
+        BeerDTO incrementedBeerDTO = beerMapper.toDTO(incrementedBeer.get());
+        publishStockEvent(id, incrementedBeerDTO.getName(), incrementedBeerDTO.getQuantity(), quantityToIncrement,
+                incrementedBeerDTO.getReorderThreshold(), BeerChangeType.INCREMENTED);
+        beerNameCache.invalidate(incrementedBeerDTO.getName());
+        return incrementedBeerDTO;
+    }
+
+    /**
+     * Decrements the stock only if the beer is still at {@code expectedVersion}.
+     */
+    @Transactional
+    @Timed(value = "beer.service", extraTags = {"operation", "decrementIfMatch"}, histogram = true)
+    public BeerDTO decrementIfMatch(Long id, int quantityDecrement, long expectedVersion)
+            throws BeerNotFoundException, BeerStockExceededException, BeerVersionMismatchException {
+        if (hotStockEngine.isHot(id)) {
+            throw new BeerVersionMismatchException(id, expectedVersion);
+        }
+        Optional<Beer> decrementedBeer = beerRepository.decrementQuantityIfVersion(id, quantityDecrement, expectedVersion);
+        if (!decrementedBeer.isPresent()) {
+            verifyVersion(id, expectedVersion);
+            throw new BeerStockExceededException(id, quantityDecrement);
+        }
+        beerChangeService.record(id, BeerChangeType.DECREMENTED, -quantityDecrement);
+        BeerDTO decrementedBeerDTO = beerMapper.toDTO(decrementedBeer.get());
+        publishStockEvent(id, decrementedBeerDTO.getName(), decrementedBeerDTO.getQuantity(), -quantityDecrement,
+                decrementedBeerDTO.getReorderThreshold(), BeerChangeType.DECREMENTED);
+        beerNameCache.invalidate(decrementedBeerDTO.getName());
+        return decrementedBeerDTO;
+    }
+
+    /**
+     * Identifies the catalog state: it changes whenever a committed change is recorded or a hot beer's stock moves.
+     */
+    public String catalogVersion() {
+        return beerChangeService.committedWatermark() + "-" + hotStockEngine.modificationCount();
+    }
+
+    @Transactional
+    @Timed(value = "beer.service", extraTags = {"operation", "adjustStock"}, histogram = true)
+    public List<StockAdjustmentResultDTO> adjustStock(List<StockAdjustmentDTO> adjustments) {
+        List<StockAdjustmentDTO> databaseAdjustments = new ArrayList<>(adjustments.size());
+        for (StockAdjustmentDTO adjustment : adjustments) {
+            if (!hotStockEngine.isHot(adjustment.getId())) {
+                databaseAdjustments.add(adjustment);
+            }
+        }
+        int[] updateCounts = databaseAdjustments.isEmpty() ? new int[0] : beerRepository.adjustQuantities(databaseAdjustments);
+        Set<Long> existingRejectedIds = findExistingRejectedIds(databaseAdjustments, updateCounts);
+        beerChangeService.recordAll(BeerChangeType.ADJUSTED, appliedDeltas(databaseAdjustments, updateCounts));
+
+        List<StockAdjustmentResultDTO> results = new ArrayList<>(adjustments.size());
+        int databaseIndex = 0;
+        for (StockAdjustmentDTO adjustment : adjustments) {
+            StockAdjustmentStatus status = hotStockEngine.isHot(adjustment.getId())
+                    ? adjustInMemory(adjustment)
+                    : toAdjustmentStatus(adjustment, updateCounts[databaseIndex++], existingRejectedIds);
+            results.add(StockAdjustmentResultDTO.builder()
+                    .id(adjustment.getId())
+                    .delta(adjustment.getDelta())
+                    .status(status)
+                    .build());
         }
-        throw new BeerStockExceededException(id, quantityDecrement);
+        beerNameCache.invalidateAll();
+        return results;
+    }
 
+    /**
+     * Hot beers are adjusted through their in-memory counter, whose flush records the change, so the batch update
+     * cannot move their stock past the bounds the counter holds.
+     */
+    private StockAdjustmentStatus adjustInMemory(StockAdjustmentDTO adjustment) {
+        try {
+            hotStockEngine.apply(adjustment.getId(), adjustment.getDelta());
+            return StockAdjustmentStatus.APPLIED;
+        } catch (BeerNotFoundException e) {
+            return StockAdjustmentStatus.NOT_FOUND;
+        } catch (BeerStockExceededException e) {
+            return adjustment.getDelta() > 0 ? StockAdjustmentStatus.EXCEEDS_MAX : StockAdjustmentStatus.BELOW_ZERO;
+        }
+    }
+
+    private Map<Long, Integer> appliedDeltas(List<StockAdjustmentDTO> adjustments, int[] updateCounts) {
+        Map<Long, Integer> appliedDeltas = new LinkedHashMap<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            if (updateCounts[i] != 0) {
+                appliedDeltas.merge(adjustments.get(i).getId(), adjustments.get(i).getDelta(), Integer::sum);
+            }
+        }
+        return appliedDeltas;
+    }
+
+    private Set<Long> findExistingRejectedIds(List<StockAdjustmentDTO> adjustments, int[] updateCounts) {
+        Set<Long> rejectedIds = new HashSet<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            if (updateCounts[i] == 0) {
+                rejectedIds.add(adjustments.get(i).getId());
+            }
+        }
+        if (rejectedIds.isEmpty()) {
+            return rejectedIds;
+        }
+        return new HashSet<>(beerRepository.findIdsByIdIn(rejectedIds));
+    }
+
+    private StockAdjustmentStatus toAdjustmentStatus(StockAdjustmentDTO adjustment, int updateCount, Set<Long> existingRejectedIds) {
+        if (updateCount != 0) {
+            return StockAdjustmentStatus.APPLIED;
+        }
+        if (!existingRejectedIds.contains(adjustment.getId())) {
+            return StockAdjustmentStatus.NOT_FOUND;
+        }
+        return adjustment.getDelta() > 0 ? StockAdjustmentStatus.EXCEEDS_MAX : StockAdjustmentStatus.BELOW_ZERO;
     }
 }
@@ -0,0 +1,132 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed stock changes out to Server-Sent Events subscribers.
+ * <p>
+ * Publishing only offers the event to each subscriber's bounded queue, which a virtual thread per subscriber drains
+ * into its connection, so a slow client never delays the others. When a queue overflows its pending events are
+ * dropped and the subscriber gets a {@value #RESYNC_EVENT} event telling it to reload the catalog.
+ */
+@Slf4j
+@Component
+public class BeerStockEventBroadcaster {
+
+    static final String STOCK_EVENT = "stock";
+    static final String RESYNC_EVENT = "resync";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+    private final long heartbeatIntervalMs;
+    private final Counter resyncs;
+
+    @Autowired
+    public BeerStockEventBroadcaster(MeterRegistry meterRegistry,
+                                     @Value("${beerstock.events.buffer-size:256}") int bufferSize,
+                                     @Value("${beerstock.events.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                     @Value("${beerstock.events.heartbeat-interval-ms:15000}") long heartbeatIntervalMs) {
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.resyncs = Counter.builder("beer.events.resyncs")
+                .description("Stock event subscribers that overflowed their buffer and were told to resync")
+                .register(meterRegistry);
+        Gauge.builder("beer.events.subscribers", subscribers, Set::size)
+                .description("Connected stock event subscribers")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.drainer = Thread.ofVirtual()
+                .name("beer-stock-events")
+                .start(subscriber::drain);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(BeerStockEventDTO event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<BeerStockEventDTO> queue;
+        private final AtomicBoolean resyncPending = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile Thread drainer;
+
+        Subscriber(SseEmitter emitter, BlockingQueue<BeerStockEventDTO> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void offer(BeerStockEventDTO event) {
+            if (!resyncPending.get() && !queue.offer(event)) {
+                resyncPending.set(true);
+            }
+        }
+
+        void drain() {
+            try {
+                while (!closed) {
+                    BeerStockEventDTO event = queue.poll(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+                    if (resyncPending.compareAndSet(true, false)) {
+                        queue.clear();
+                        resyncs.increment();
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(RESYNC_EVENT));
+                    } else if (event != null) {
+                        emitter.send(SseEmitter.event().name(STOCK_EVENT).data(event, MediaType.APPLICATION_JSON));
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Stock event subscriber disconnected", e);
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread thread = drainer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
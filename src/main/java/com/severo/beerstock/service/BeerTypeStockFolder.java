@@ -0,0 +1,37 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.repository.BeerTypeStockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Folds the change log into the stock totals per beer type, so that stock changes never write a shared per-type row.
+ * <p>
+ * Only changes up to the committed watermark are folded: a change committed later with a lower sequence would
+ * otherwise fall behind the fold position and be lost.
+ */
+@Component
+public class BeerTypeStockFolder {
+
+    private final BeerTypeStockRepository beerTypeStockRepository;
+    private final BeerChangeService beerChangeService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public BeerTypeStockFolder(BeerTypeStockRepository beerTypeStockRepository,
+                               BeerChangeService beerChangeService,
+                               PlatformTransactionManager transactionManager) {
+        this.beerTypeStockRepository = beerTypeStockRepository;
+        this.beerChangeService = beerChangeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.type-stock.fold-interval-ms:1000}")
+    public void fold() {
+        long watermark = beerChangeService.committedWatermark();
+        transactionTemplate.executeWithoutResult(status -> beerTypeStockRepository.foldChanges(watermark));
+    }
+}
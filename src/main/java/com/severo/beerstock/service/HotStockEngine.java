@@ -0,0 +1,379 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.config.HotStockProperties;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.entity.HotStockCheckpoint;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.mapper.BeerMapper;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.repository.HotStockCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind stock counters for a configured set of hot beers.
+ * <p>
+ * Increments and decrements of a hot beer are applied with a CAS on an in-memory counter that enforces
+ * the same bounds as the database, journaled to disk before being acknowledged and written to the
+ * database in one batch every {@code beerstock.hot-stock.flush-interval-ms}. Journal segments are only
+ * deleted after the flush that covers them commits, and recovery replays the segments that have no
+ * {@link HotStockCheckpoint}, so a crash loses no acknowledged change and applies none twice. A change whose
+ * journal record cannot be synced is taken back before the error reaches the caller, so a retry applies it
+ * once. Each flush reloads the bounds of the loaded counters, so reservations and allocations released in
+ * the database are seen by the next change.
+ */
+@Slf4j
+@Service
+public class HotStockEngine {
+
+    private final BeerRepository beerRepository;
+    private final HotStockCheckpointRepository checkpointRepository;
+    private final BeerChangeService beerChangeService;
+    private final TransactionTemplate transactionTemplate;
+    private final HotStockProperties properties;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    private final Set<Long> hotBeerIds = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, HotStockCounter> counters = new ConcurrentHashMap<>();
+    private final List<Long> sealedSegmentIds = new ArrayList<>();
+    private final Lock appendLock = new ReentrantLock();
+    private final Lock flushLock = new ReentrantLock();
+    private final AtomicLong modifications = new AtomicLong();
+
+    private HotStockJournal journal;
+
+    @Autowired
+    public HotStockEngine(BeerRepository beerRepository,
+                          HotStockCheckpointRepository checkpointRepository,
+                          BeerChangeService beerChangeService,
+                          PlatformTransactionManager transactionManager,
+                          HotStockProperties properties) {
+        this.beerRepository = beerRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.beerChangeService = beerChangeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        hotBeerIds.addAll(properties.getBeerIds());
+        journal = new HotStockJournal(Paths.get(properties.getJournalDirectory()), properties.isFsync());
+        List<Long> segmentIds = journal.listSegmentIds();
+        recover(segmentIds);
+
+        long lastSegmentId = segmentIds.isEmpty() ? 0 : segmentIds.get(segmentIds.size() - 1);
+        Long lastCheckpointId = checkpointRepository.findMaxSegmentId();
+        journal.open(Math.max(lastSegmentId, lastCheckpointId == null ? 0 : lastCheckpointId) + 1);
+        log.info("Hot stock engine started for beers {}", hotBeerIds);
+    }
+
+    public boolean isHot(Long beerId) {
+        return journal != null && hotBeerIds.contains(beerId);
+    }
+
+    /**
+     * Routes a beer through the in-memory counters from now on. Its counter is loaded on first use.
+     */
+    public void designate(Long beerId) {
+        hotBeerIds.add(beerId);
+    }
+
+    public void forget(Long beerId) {
+        hotBeerIds.remove(beerId);
+        counters.remove(beerId);
+    }
+
+    public BeerDTO apply(Long beerId, int delta) throws BeerNotFoundException, BeerStockExceededException {
+        HotStockCounter counter = counterFor(beerId);
+        int quantity = counter.tryAdd(delta);
+        if (quantity < 0) {
+            throw new BeerStockExceededException(beerId, Math.abs(delta));
+        }
+        long position;
+        appendLock.lock();
+        try {
+            try {
+                position = journal.append(beerId, delta);
+            } catch (IOException e) {
+                counter.quantity.addAndGet(-delta);
+                throw new UncheckedIOException(e);
+            }
+            counter.pendingDelta += delta;
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            journal.sync(position);
+        } catch (IOException e) {
+            undo(beerId, counter, delta);
+            throw new UncheckedIOException(e);
+        }
+        modifications.incrementAndGet();
+        BeerDTO beerDTO = beerMapper.toDTO(counter.beer);
+        beerDTO.setQuantity(quantity);
+        beerDTO.setVersion(null);
+        return beerDTO;
+    }
+
+    /**
+     * Replaces the quantity read from the database with the in-memory one when the beer is hot.
+     */
+    public void applyInMemoryQuantity(BeerDTO beerDTO) {
+        HotStockCounter counter = counters.get(beerDTO.getId());
+        if (counter != null) {
+            beerDTO.setQuantity(counter.quantity.get());
+            beerDTO.setVersion(null);
+        }
+    }
+
+    /**
+     * Ids of the hot beers whose in-memory counter is loaded, so whose quantity may differ from the database.
+     */
+    public Set<Long> loadedBeerIds() {
+        return Collections.unmodifiableSet(counters.keySet());
+    }
+
+    /**
+     * Number of in-memory stock changes since startup, so that catalog versions move before the next flush.
+     */
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.hot-stock.flush-interval-ms:200}")
+    public void flush() {
+        if (journal == null) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushPendingDeltas();
+            refreshBounds();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    private void flushPendingDeltas() {
+        Map<Long, Integer> deltas = new HashMap<>();
+        appendLock.lock();
+        try {
+            counters.forEach((beerId, counter) -> {
+                if (counter.pendingDelta != 0) {
+                    deltas.put(beerId, counter.pendingDelta);
+                    counter.pendingDelta = 0;
+                }
+            });
+            if (journal.hasRecords()) {
+                try {
+                    sealedSegmentIds.add(journal.rotate());
+                } catch (IOException e) {
+                    restorePendingDeltas(deltas);
+                    log.error("Could not rotate the hot stock journal", e);
+                    return;
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        if (sealedSegmentIds.isEmpty()) {
+            return;
+        }
+        try {
+            writeToDatabase(deltas, sealedSegmentIds);
+        } catch (RuntimeException e) {
+            restorePendingDeltas(deltas);
+            log.warn("Hot stock flush failed, {} beers will be retried", deltas.size(), e);
+            return;
+        }
+        deleteSegments(sealedSegmentIds);
+        sealedSegmentIds.clear();
+    }
+
+    private void refreshBounds() {
+        if (counters.isEmpty()) {
+            return;
+        }
+        try {
+            beerRepository.findAllById(counters.keySet()).forEach(beer -> {
+                HotStockCounter counter = counters.get(beer.getId());
+                if (counter != null) {
+                    counter.refresh(beer);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the hot stock bounds", e);
+        }
+    }
+
+    /**
+     * Takes back a change whose journal record could not be synced. The record may still reach the disk, so a
+     * compensating record is journaled for recovery to cancel it out.
+     */
+    private void undo(Long beerId, HotStockCounter counter, int delta) {
+        appendLock.lock();
+        try {
+            counter.pendingDelta -= delta;
+            journal.append(beerId, -delta);
+        } catch (IOException e) {
+            log.error("Could not journal the compensation of an unsynced change of {} to beer {}", delta, beerId, e);
+        } finally {
+            appendLock.unlock();
+        }
+        counter.quantity.addAndGet(-delta);
+    }
+
+    private void recover(List<Long> segmentIds) throws IOException {
+        if (segmentIds.isEmpty()) {
+            return;
+        }
+        Set<Long> flushedSegmentIds = checkpointRepository.findAllById(segmentIds).stream()
+                .map(HotStockCheckpoint::getSegmentId)
+                .collect(Collectors.toSet());
+        Map<Long, Integer> deltas = new HashMap<>();
+        List<Long> pendingSegmentIds = new ArrayList<>();
+        for (Long segmentId : segmentIds) {
+            if (!flushedSegmentIds.contains(segmentId)) {
+                journal.readSegment(segmentId).forEach((beerId, delta) -> deltas.merge(beerId, delta, Integer::sum));
+                pendingSegmentIds.add(segmentId);
+            }
+        }
+        if (!pendingSegmentIds.isEmpty()) {
+            writeToDatabase(deltas, pendingSegmentIds);
+            log.info("Replayed {} hot stock journal segments for {} beers", pendingSegmentIds.size(), deltas.size());
+        }
+        deleteSegments(segmentIds);
+    }
+
+    private void writeToDatabase(Map<Long, Integer> deltas, List<Long> segmentIds) {
+        Instant flushedAt = Instant.now();
+        transactionTemplate.execute(status -> {
+            deltas.values().removeIf(delta -> delta == 0);
+            if (!deltas.isEmpty()) {
+                beerRepository.applyQuantityDeltas(deltas);
+                beerChangeService.recordAll(BeerChangeType.ADJUSTED, deltas);
+            }
+            checkpointRepository.saveAll(segmentIds.stream()
+                    .map(segmentId -> new HotStockCheckpoint(segmentId, flushedAt))
+                    .collect(Collectors.toList()));
+            return null;
+        });
+    }
+
+    private void deleteSegments(List<Long> segmentIds) {
+        for (Long segmentId : segmentIds) {
+            try {
+                journal.deleteSegment(segmentId);
+                checkpointRepository.deleteById(segmentId);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not delete flushed hot stock journal segment {}", segmentId, e);
+            }
+        }
+    }
+
+    private void restorePendingDeltas(Map<Long, Integer> deltas) {
+        appendLock.lock();
+        try {
+            deltas.forEach((beerId, delta) -> {
+                HotStockCounter counter = counters.get(beerId);
+                if (counter != null) {
+                    counter.pendingDelta += delta;
+                }
+            });
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private HotStockCounter counterFor(Long beerId) throws BeerNotFoundException {
+        HotStockCounter counter = counters.get(beerId);
+        if (counter != null) {
+            return counter;
+        }
+        Beer beer = beerRepository.findById(beerId)
+                .orElseThrow(() -> new BeerNotFoundException(beerId));
+        HotStockCounter loaded = new HotStockCounter(beer);
+        counter = counters.putIfAbsent(beerId, loaded);
+        return counter == null ? loaded : counter;
+    }
+
+    private static class HotStockCounter {
+
+        private final AtomicInteger quantity;
+        private volatile Beer beer;
+        private volatile int floor;
+        private volatile int max;
+
+        /**
+         * Net delta not yet written to the database, guarded by the engine's append lock.
+         */
+        private int pendingDelta;
+
+        HotStockCounter(Beer beer) {
+            this.quantity = new AtomicInteger(beer.getQuantity());
+            refresh(beer);
+        }
+
+        /**
+         * Takes the bounds from a fresh read of the beer; its quantity is ignored, as it lags the counter.
+         */
+        void refresh(Beer beer) {
+            this.beer = beer;
+            this.floor = beer.getReserved() + beer.getAllocated();
+            this.max = beer.getMax();
+        }
+
+        int tryAdd(int delta) {
+            while (true) {
+                int current = quantity.get();
+                int updated = current + delta;
+                if (updated < floor || updated > max) {
+                    return -1;
+                }
+                if (quantity.compareAndSet(current, updated)) {
+                    return updated;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.severo.beerstock.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of hot stock deltas, split in numbered segments.
+ * <p>
+ * {@link #append} and {@link #rotate} must be called while holding the owner's lock;
+ * {@link #sync} may be called concurrently and lets every waiting writer share one fsync.
+ */
+public class HotStockJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "hot-stock-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int RECORD_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE);
+    private final Lock syncLock = new ReentrantLock();
+
+    private FileChannel channel;
+    private long activeSegmentId;
+    private long activeSegmentBytes;
+    private volatile long writtenBytes;
+    private volatile long syncedBytes;
+
+    public HotStockJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.fsync = fsync;
+    }
+
+    public List<Long> listSegmentIds() throws IOException {
+        List<Long> segmentIds = new ArrayList<>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                String fileName = segment.getFileName().toString();
+                segmentIds.add(Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(segmentIds);
+        return segmentIds;
+    }
+
+    /**
+     * Sums the deltas of a segment per beer id. A torn record left by a crash in the middle of a write is ignored.
+     */
+    public Map<Long, Integer> readSegment(long segmentId) throws IOException {
+        Map<Long, Integer> deltas = new HashMap<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentPath(segmentId)));
+        while (buffer.remaining() >= RECORD_SIZE) {
+            deltas.merge(buffer.getLong(), buffer.getInt(), Integer::sum);
+        }
+        return deltas;
+    }
+
+    public void deleteSegment(long segmentId) throws IOException {
+        Files.deleteIfExists(segmentPath(segmentId));
+    }
+
+    public void open(long segmentId) throws IOException {
+        channel = FileChannel.open(segmentPath(segmentId), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeSegmentId = segmentId;
+        activeSegmentBytes = 0;
+    }
+
+    public boolean hasRecords() {
+        return activeSegmentBytes > 0;
+    }
+
+    /**
+     * Writes one record and returns the journal position that must be synced before acknowledging it.
+     */
+    public long append(long beerId, int delta) throws IOException {
+        recordBuffer.clear();
+        recordBuffer.putLong(beerId).putInt(delta).flip();
+        while (recordBuffer.hasRemaining()) {
+            channel.write(recordBuffer);
+        }
+        activeSegmentBytes += RECORD_SIZE;
+        writtenBytes += RECORD_SIZE;
+        return writtenBytes;
+    }
+
+    public void sync(long position) throws IOException {
+        if (!fsync || syncedBytes >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (syncedBytes >= position) {
+                return;
+            }
+            long target = writtenBytes;
+            channel.force(false);
+            syncedBytes = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the active segment and opens the next one, returning the id of the sealed segment.
+     */
+    public long rotate() throws IOException {
+        long sealedSegmentId = activeSegmentId;
+        syncLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            syncedBytes = writtenBytes;
+            open(sealedSegmentId + 1);
+        } finally {
+            syncLock.unlock();
+        }
+        return sealedSegmentId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        syncLock.lock();
+        try {
+            if (channel != null && channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private Path segmentPath(long segmentId) {
+        return directory.resolve(SEGMENT_PREFIX + segmentId + SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,222 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.dto.LocationDTO;
+import com.severo.beerstock.dto.LocationStockDTO;
+import com.severo.beerstock.dto.StockTransferDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.entity.Location;
+import com.severo.beerstock.entity.LocationStock;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.InvalidStockTransferException;
+import com.severo.beerstock.exception.LocationAlreadyRegisteredException;
+import com.severo.beerstock.exception.LocationNotFoundException;
+import com.severo.beerstock.exception.LocationStockNotSupportedException;
+import com.severo.beerstock.mapper.LocationMapper;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.repository.LocationRepository;
+import com.severo.beerstock.repository.LocationStockRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Stock of beers held at bars and warehouses.
+ * <p>
+ * A beer's {@code quantity} stays its total stock: the part held at locations is tracked in {@code allocated}, and the
+ * rest is the unallocated stock that plain increments, decrements and reservations work on. Every change starts with
+ * a guarded update of the beer row, which fails when the beer totals would leave their bounds and otherwise holds the
+ * row until commit, so the location rows of a beer, the beer totals and the location totals move together.
+ */
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class LocationService {
+
+    private final LocationRepository locationRepository;
+    private final LocationStockRepository locationStockRepository;
+    private final BeerRepository beerRepository;
+    private final HotStockEngine hotStockEngine;
+    private final BeerChangeService beerChangeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeerNameCache beerNameCache;
+    private final LocationMapper locationMapper = LocationMapper.INSTANCE;
+
+    @Transactional(rollbackFor = LocationAlreadyRegisteredException.class)
+    public LocationDTO createLocation(LocationDTO locationDTO) throws LocationAlreadyRegisteredException {
+        Location location = locationMapper.toModel(locationDTO);
+        location.setId(null);
+        try {
+            return locationMapper.toDTO(locationRepository.saveAndFlush(location));
+        } catch (DataIntegrityViolationException e) {
+            throw new LocationAlreadyRegisteredException(locationDTO.getName());
+        }
+    }
+
+    public List<LocationDTO> listAll() {
+        return locationRepository.findAll(Sort.by("name")).stream()
+                .map(locationMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    public LocationDTO findById(Long id) throws LocationNotFoundException {
+        return locationMapper.toDTO(verifyIfExists(id));
+    }
+
+    public List<LocationStockDTO> findStockByBeerId(Long beerId) throws BeerNotFoundException {
+        verifyBeerExists(beerId);
+        return locationStockRepository.findStockByBeerId(beerId);
+    }
+
+    @Transactional(rollbackFor = BeerStockExceededException.class)
+    @Timed(value = "beer.location", extraTags = {"operation", "increment"}, histogram = true)
+    public LocationStockDTO increment(Long beerId, Long locationId, int quantityToIncrement)
+            throws BeerNotFoundException, LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException {
+        return changeStock(beerId, locationId, quantityToIncrement, BeerChangeType.INCREMENTED);
+    }
+
+    @Transactional(rollbackFor = BeerStockExceededException.class)
+    @Timed(value = "beer.location", extraTags = {"operation", "decrement"}, histogram = true)
+    public LocationStockDTO decrement(Long beerId, Long locationId, int quantityDecrement)
+            throws BeerNotFoundException, LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException {
+        return changeStock(beerId, locationId, -quantityDecrement, BeerChangeType.DECREMENTED);
+    }
+
+    /**
+     * Moves stock between two locations, or between a location and the unallocated stock. The beer total does not
+     * change, so the change log records it with a zero delta.
+     */
+    @Transactional(rollbackFor = BeerStockExceededException.class)
+    @Timed(value = "beer.location", extraTags = {"operation", "transfer"}, histogram = true)
+    public List<LocationStockDTO> transfer(Long beerId, StockTransferDTO transfer) throws BeerNotFoundException,
+            LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException, InvalidStockTransferException {
+        Long fromLocationId = transfer.getFromLocationId();
+        Long toLocationId = transfer.getToLocationId();
+        int quantity = transfer.getQuantity();
+        if (Objects.equals(fromLocationId, toLocationId)) {
+            throw new InvalidStockTransferException(beerId);
+        }
+        verifyNotHot(beerId);
+        if (fromLocationId != null) {
+            verifyIfExists(fromLocationId);
+        }
+        if (toLocationId != null) {
+            verifyIfExists(toLocationId);
+        }
+        // between two locations the allocated total stays put, but the update still orders this transfer after any
+        // other change of the beer in flight
+        int allocatedDelta = 0;
+        if (fromLocationId == null) {
+            allocatedDelta = quantity;
+        } else if (toLocationId == null) {
+            allocatedDelta = -quantity;
+        }
+        if (beerRepository.allocateQuantity(beerId, allocatedDelta) == 0) {
+            verifyBeerExists(beerId);
+            throw new BeerStockExceededException(beerId, quantity);
+        }
+        int fromQuantity = 0;
+        if (fromLocationId != null) {
+            fromQuantity = findLocationQuantity(beerId, fromLocationId) - quantity;
+            if (fromQuantity < 0) {
+                throw new BeerStockExceededException(beerId, quantity);
+            }
+        }
+        int toQuantity = 0;
+        if (toLocationId != null) {
+            toQuantity = findLocationQuantity(beerId, toLocationId) + quantity;
+        }
+        // location totals are updated in id order so that opposite transfers of different beers cannot deadlock
+        boolean toFirst = toLocationId != null && (fromLocationId == null || toLocationId < fromLocationId);
+        if (toFirst) {
+            saveLocationQuantity(beerId, toLocationId, toQuantity, quantity);
+        }
+        if (fromLocationId != null) {
+            saveLocationQuantity(beerId, fromLocationId, fromQuantity, -quantity);
+        }
+        if (toLocationId != null && !toFirst) {
+            saveLocationQuantity(beerId, toLocationId, toQuantity, quantity);
+        }
+        beerChangeService.record(beerId, BeerChangeType.TRANSFERRED, 0);
+        return locationStockRepository.findStockByBeerId(beerId);
+    }
+
+    /**
+     * Drops the location stock of a beer about to be deleted, taking it out of the location totals.
+     */
+    @Transactional
+    public void removeBeer(Long beerId) {
+        locationRepository.removeBeerQuantities(beerId);
+        locationStockRepository.deleteByBeerId(beerId);
+    }
+
+    private LocationStockDTO changeStock(Long beerId, Long locationId, int delta, BeerChangeType changeType)
+            throws BeerNotFoundException, LocationNotFoundException, LocationStockNotSupportedException, BeerStockExceededException {
+        verifyNotHot(beerId);
+        Location location = verifyIfExists(locationId);
+        if (beerRepository.addAllocatedQuantity(beerId, delta) == 0) {
+            verifyBeerExists(beerId);
+            throw new BeerStockExceededException(beerId, Math.abs(delta));
+        }
+        int newQuantity = findLocationQuantity(beerId, locationId) + delta;
+        if (newQuantity < 0) {
+            throw new BeerStockExceededException(beerId, Math.abs(delta));
+        }
+        saveLocationQuantity(beerId, locationId, newQuantity, delta);
+        beerChangeService.record(beerId, changeType, delta);
+        Beer beer = beerRepository.findById(beerId)
+                .orElseThrow(() -> new BeerNotFoundException(beerId));
+        beerNameCache.invalidate(beer.getName());
+        eventPublisher.publishEvent(BeerStockEventDTO.builder()
+                .id(beerId)
+                .name(beer.getName())
+                .quantity(beer.getQuantity())
+                .delta(delta)
+                .reorderThreshold(beer.getReorderThreshold())
+                .change(changeType)
+                .build());
+        return LocationStockDTO.builder()
+                .locationId(locationId)
+                .locationName(location.getName())
+                .quantity(newQuantity)
+                .build();
+    }
+
+    private void verifyNotHot(Long beerId) throws LocationStockNotSupportedException {
+        if (hotStockEngine.isHot(beerId)) {
+            throw new LocationStockNotSupportedException(beerId);
+        }
+    }
+
+    private void verifyBeerExists(Long beerId) throws BeerNotFoundException {
+        if (!beerRepository.existsById(beerId)) {
+            throw new BeerNotFoundException(beerId);
+        }
+    }
+
+    private int findLocationQuantity(Long beerId, Long locationId) {
+        return locationStockRepository.findById(new LocationStock.Key(beerId, locationId))
+                .map(LocationStock::getQuantity)
+                .orElse(0);
+    }
+
+    private void saveLocationQuantity(Long beerId, Long locationId, int quantity, int delta) {
+        locationStockRepository.save(new LocationStock(beerId, locationId, quantity));
+        locationRepository.addQuantity(locationId, delta);
+    }
+
+    private Location verifyIfExists(Long id) throws LocationNotFoundException {
+        return locationRepository.findById(id)
+                .orElseThrow(() -> new LocationNotFoundException(id));
+    }
+}
@@ -0,0 +1,104 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.dto.LowStockAlertDTO;
+import com.severo.beerstock.enums.BeerChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Raises a {@link LowStockAlertDTO} when a committed decrement takes a beer below its reorder threshold.
+ * <p>
+ * Once raised, an alert stays open until the stock recovers to the threshold plus {@code rearm-margin}, so a beer
+ * bouncing around its threshold alerts only once. A beer that is re-armed and drops again within {@code cooldown-ms}
+ * of its last alert is not alerted again either.
+ */
+@Slf4j
+@Component
+public class LowStockAlertService {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final int rearmMargin;
+    private final Duration cooldown;
+    private final Map<Long, Instant> openAlerts = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> lastAlerts = new ConcurrentHashMap<>();
+    private final Counter raised;
+    private final Counter suppressed;
+
+    @Autowired
+    public LowStockAlertService(ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${beerstock.low-stock.rearm-margin:5}") int rearmMargin,
+                                @Value("${beerstock.low-stock.cooldown-ms:600000}") long cooldownMs) {
+        this.eventPublisher = eventPublisher;
+        this.rearmMargin = rearmMargin;
+        this.cooldown = Duration.ofMillis(cooldownMs);
+        this.raised = Counter.builder("beer.low.stock.alerts")
+                .tag("outcome", "raised")
+                .description("Low stock alerts raised or suppressed as duplicates")
+                .register(meterRegistry);
+        this.suppressed = Counter.builder("beer.low.stock.alerts")
+                .tag("outcome", "suppressed")
+                .description("Low stock alerts raised or suppressed as duplicates")
+                .register(meterRegistry);
+        Gauge.builder("beer.low.stock.open", openAlerts, Map::size)
+                .description("Beers with an open low stock alert")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(BeerStockEventDTO event) {
+        Long id = event.getId();
+        int threshold = event.getReorderThreshold() == null ? 0 : event.getReorderThreshold();
+        if (event.getChange() == BeerChangeType.DELETED || threshold == 0) {
+            openAlerts.remove(id);
+            lastAlerts.remove(id);
+            return;
+        }
+        int quantity = event.getQuantity();
+        if (quantity >= threshold + rearmMargin) {
+            openAlerts.remove(id);
+        } else if (event.getChange() == BeerChangeType.DECREMENTED && quantity < threshold) {
+            Instant now = Instant.now();
+            if (openAlerts.putIfAbsent(id, now) == null) {
+                raise(event, threshold, now);
+            }
+        }
+    }
+
+    public boolean isAlertOpen(Long id) {
+        return openAlerts.containsKey(id);
+    }
+
+    private void raise(BeerStockEventDTO event, int threshold, Instant now) {
+        Instant lastAlert = lastAlerts.get(event.getId());
+        if (lastAlert != null && lastAlert.plus(cooldown).isAfter(now)) {
+            suppressed.increment();
+            return;
+        }
+        lastAlerts.put(event.getId(), now);
+        raised.increment();
+        log.warn("Beer {} ({}) dropped to {} units, below its reorder threshold of {}",
+                event.getName(), event.getId(), event.getQuantity(), threshold);
+        eventPublisher.publishEvent(LowStockAlertDTO.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .quantity(event.getQuantity())
+                .reorderThreshold(threshold)
+                .raisedAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,142 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.config.ReactiveConfig;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.mapper.BeerMapper;
+import com.severo.beerstock.repository.ReactiveBeerRepository;
+import com.severo.beerstock.utils.BeerNames;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking service of the reactive profile. Stock changes update the beer and record the change in one R2DBC
+ * transaction, then publish the stock event and invalidate the name cache like {@link BeerService} does. Hot beers
+ * live in {@link HotStockEngine}, whose journal writes block, and creations and deletions touch the locations and the
+ * search index, so those still go through the blocking services on a bounded elastic thread.
+ */
+@Service
+@Profile(ReactiveConfig.REACTIVE_PROFILE)
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerService {
+
+    private static final int LIST_PREFETCH = 256;
+
+    private final ReactiveBeerRepository beerRepository;
+    private final BeerService beerService;
+    private final HotStockEngine hotStockEngine;
+    private final BeerChangeService beerChangeService;
+    private final BeerNameCache beerNameCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    public Mono<BeerDTO> createBeer(BeerDTO beerDTO) {
+        return blocking(() -> beerService.createBeer(beerDTO));
+    }
+
+    public Mono<BeerDTO> findByName(String name) {
+        return beerRepository.findByNameKey(BeerNames.normalize(name))
+                .map(this::toDTO)
+                .switchIfEmpty(Mono.error(() -> new BeerNotFoundException(name)));
+    }
+
+    /**
+     * Streams the whole catalog in id order, requesting at most {@value #LIST_PREFETCH} rows ahead of the subscriber.
+     */
+    public Flux<BeerDTO> listAll() {
+        return beerRepository.findAll()
+                .limitRate(LIST_PREFETCH)
+                .map(this::toDTO);
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return blocking(() -> {
+            beerService.deleteById(id);
+            return null;
+        });
+    }
+
+    public Mono<BeerDTO> increment(Long id, int quantityToIncrement) {
+        return changeStock(id, quantityToIncrement, BeerChangeType.INCREMENTED,
+                beerRepository.incrementQuantity(id, quantityToIncrement));
+    }
+
+    public Mono<BeerDTO> decrement(Long id, int quantityDecrement) {
+        return changeStock(id, -quantityDecrement, BeerChangeType.DECREMENTED,
+                beerRepository.decrementQuantity(id, quantityDecrement));
+    }
+
+    /**
+     * The change's sequence is reserved once the beer row is updated, so changes to one beer are sequenced in the
+     * order their updates were made, and released only after the transaction has completed, so change feed readers
+     * stop before it until then.
+     */
+    private Mono<BeerDTO> changeStock(Long id, int delta, BeerChangeType changeType, Mono<Beer> update) {
+        if (hotStockEngine.isHot(id)) {
+            return blocking(() -> hotStockEngine.apply(id, delta))
+                    .doOnNext(beerDTO -> stockChanged(beerDTO, delta, changeType));
+        }
+        return Mono.defer(() -> {
+            AtomicLong seq = new AtomicLong();
+            return update
+                    .switchIfEmpty(Mono.defer(() -> notChanged(id, Math.abs(delta))))
+                    .flatMap(beer -> {
+                        seq.set(beerChangeService.reserve(1));
+                        return beerRepository.insertChange(seq.get(), beer, changeType, delta).thenReturn(beer);
+                    })
+                    .as(transactionalOperator::transactional)
+                    .doFinally(signal -> {
+                        if (seq.get() != 0) {
+                            beerChangeService.release(seq.get());
+                        }
+                    });
+        }).map(beer -> {
+            BeerDTO beerDTO = beerMapper.toDTO(beer);
+            stockChanged(beerDTO, delta, changeType);
+            return beerDTO;
+        });
+    }
+
+    private Mono<Beer> notChanged(Long id, int quantity) {
+        return beerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new BeerNotFoundException(id)))
+                .flatMap(beer -> Mono.error(new BeerStockExceededException(id, quantity)));
+    }
+
+    private void stockChanged(BeerDTO beerDTO, int delta, BeerChangeType changeType) {
+        eventPublisher.publishEvent(BeerStockEventDTO.builder()
+                .id(beerDTO.getId())
+                .name(beerDTO.getName())
+                .quantity(beerDTO.getQuantity())
+                .delta(delta)
+                .reorderThreshold(beerDTO.getReorderThreshold())
+                .change(changeType)
+                .build());
+        beerNameCache.invalidate(beerDTO.getName());
+    }
+
+    private BeerDTO toDTO(Beer beer) {
+        BeerDTO beerDTO = beerMapper.toDTO(beer);
+        hotStockEngine.applyInMemoryQuantity(beerDTO);
+        return beerDTO;
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> write) {
+        return Mono.fromCallable(write).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,144 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.StockAvailabilityDTO;
+import com.severo.beerstock.dto.StockReservationDTO;
+import com.severo.beerstock.dto.StockReservationRequestDTO;
+import com.severo.beerstock.entity.StockReservation;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.enums.ReservationStatus;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.StockReservationNotActiveException;
+import com.severo.beerstock.exception.StockReservationNotFoundException;
+import com.severo.beerstock.exception.StockReservationNotSupportedException;
+import com.severo.beerstock.mapper.StockReservationMapper;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.repository.StockReservationRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class StockReservationService {
+
+    private final BeerRepository beerRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final BeerChangeService beerChangeService;
+    private final HotStockEngine hotStockEngine;
+    private final BeerNameCache beerNameCache;
+    private final StockReservationMapper stockReservationMapper = StockReservationMapper.INSTANCE;
+
+    @Transactional
+    @Timed(value = "beer.reservation", extraTags = {"operation", "reserve"}, histogram = true)
+    public StockReservationDTO reserve(StockReservationRequestDTO request)
+            throws BeerNotFoundException, BeerStockExceededException, StockReservationNotSupportedException {
+        Long beerId = request.getBeerId();
+        int quantity = request.getQuantity();
+        verifyNotHot(beerId);
+        if (beerRepository.reserveQuantity(beerId, quantity) == 0) {
+            if (!beerRepository.existsById(beerId)) {
+                throw new BeerNotFoundException(beerId);
+            }
+            throw new BeerStockExceededException(beerId, quantity);
+        }
+        Instant expiresAt = Instant.now().plusSeconds(request.getTtlSeconds());
+        StockReservation reservation = new StockReservation(null, beerId, quantity, ReservationStatus.ACTIVE, expiresAt);
+        return stockReservationMapper.toDTO(stockReservationRepository.save(reservation));
+    }
+
+    public StockReservationDTO findById(Long id) throws StockReservationNotFoundException {
+        return stockReservationMapper.toDTO(verifyIfExists(id));
+    }
+
+    public StockAvailabilityDTO findAvailability(Long beerId) throws BeerNotFoundException {
+        return beerRepository.findAvailabilityById(beerId)
+                .orElseThrow(() -> new BeerNotFoundException(beerId));
+    }
+
+    @Transactional(rollbackFor = BeerNotFoundException.class)
+    @Timed(value = "beer.reservation", extraTags = {"operation", "confirm"}, histogram = true)
+    public StockReservationDTO confirm(Long id)
+            throws StockReservationNotFoundException, StockReservationNotActiveException, BeerNotFoundException, StockReservationNotSupportedException {
+        StockReservation reservation = verifyIfActive(id);
+        verifyNotHot(reservation.getBeerId());
+        changeStatus(reservation, ReservationStatus.CONFIRMED);
+        if (beerRepository.consumeReservedQuantity(reservation.getBeerId(), reservation.getQuantity()) == 0) {
+            throw new BeerNotFoundException(reservation.getBeerId());
+        }
+        beerChangeService.record(reservation.getBeerId(), BeerChangeType.RESERVATION_CONFIRMED, -reservation.getQuantity());
+        beerNameCache.invalidateAll();
+        return stockReservationMapper.toDTO(reservation);
+    }
+
+    @Transactional
+    @Timed(value = "beer.reservation", extraTags = {"operation", "release"}, histogram = true)
+    public StockReservationDTO release(Long id) throws StockReservationNotFoundException, StockReservationNotActiveException {
+        StockReservation reservation = verifyIfActive(id);
+        changeStatus(reservation, ReservationStatus.RELEASED);
+        beerRepository.releaseReservedQuantity(reservation.getBeerId(), reservation.getQuantity());
+        return stockReservationMapper.toDTO(reservation);
+    }
+
+    @Transactional
+    public int expireBatch(int batchSize) {
+        List<StockReservation> expiredReservations = stockReservationRepository.findByStatusAndExpiresAtBefore(
+                ReservationStatus.ACTIVE, Instant.now(), PageRequest.of(0, batchSize));
+        for (StockReservation reservation : expiredReservations) {
+            expire(reservation);
+        }
+        return expiredReservations.size();
+    }
+
+    /**
+     * Hot beers keep their stock in memory and write it to the database on the next flush, so a reservation guarded
+     * by the database quantity could take stock the counter has already handed out.
+     */
+    private void verifyNotHot(Long beerId) throws StockReservationNotSupportedException {
+        if (hotStockEngine.isHot(beerId)) {
+            throw new StockReservationNotSupportedException(beerId);
+        }
+    }
+
+    private StockReservation verifyIfExists(Long id) throws StockReservationNotFoundException {
+        return stockReservationRepository.findById(id)
+                .orElseThrow(() -> new StockReservationNotFoundException(id));
+    }
+
+    private StockReservation verifyIfActive(Long id) throws StockReservationNotFoundException, StockReservationNotActiveException {
+        StockReservation reservation = verifyIfExists(id);
+        if (reservation.getStatus() == ReservationStatus.ACTIVE && reservation.getExpiresAt().isBefore(Instant.now())) {
+            expire(reservation);
+        }
+        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            throw new StockReservationNotActiveException(id, reservation.getStatus());
+        }
+        return reservation;
+    }
+
+    private void changeStatus(StockReservation reservation, ReservationStatus newStatus) throws StockReservationNotActiveException {
+        if (stockReservationRepository.updateStatus(reservation.getId(), ReservationStatus.ACTIVE, newStatus) == 0) {
+            throw new StockReservationNotActiveException(reservation.getId(), verifyCurrentStatus(reservation));
+        }
+        reservation.setStatus(newStatus);
+    }
+
+    private ReservationStatus verifyCurrentStatus(StockReservation reservation) {
+        return stockReservationRepository.findById(reservation.getId())
+                .map(StockReservation::getStatus)
+                .orElse(reservation.getStatus());
+    }
+
+    private void expire(StockReservation reservation) {
+        if (stockReservationRepository.updateStatus(reservation.getId(), ReservationStatus.ACTIVE, ReservationStatus.EXPIRED) == 1) {
+            beerRepository.releaseReservedQuantity(reservation.getBeerId(), reservation.getQuantity());
+            reservation.setStatus(ReservationStatus.EXPIRED);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.severo.beerstock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class StockReservationSweeper {
+
+    private final StockReservationService stockReservationService;
+    private final int batchSize;
+
+    @Autowired
+    public StockReservationSweeper(StockReservationService stockReservationService,
+                                   @Value("${beerstock.reservations.sweep-batch-size:500}") int batchSize) {
+        this.stockReservationService = stockReservationService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${beerstock.reservations.sweep-interval-ms:10000}")
+    public void sweepExpiredReservations() {
+        int total = 0;
+        int expired;
+        do {
+            expired = stockReservationService.expireBatch(batchSize);
+            total += expired;
+        } while (expired == batchSize);
+        if (total > 0) {
+            log.info("Expired {} stock reservations", total);
+        }
+    }
+}
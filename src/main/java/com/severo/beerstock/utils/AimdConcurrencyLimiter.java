@@ -0,0 +1,92 @@
+package com.severo.beerstock.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the calls in flight at a limit found by additive increase, multiplicative decrease: a call that completes
+ * within the latency threshold while the limit is at least half used raises the limit by one, and a slow or overloaded
+ * call cuts it by the backoff ratio. Only calls started after the last cut can cut it again, so one slow spell backs
+ * off once rather than once per call that was already in flight.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos = new AtomicLong();
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                                  double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1, got " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    /**
+     * Admits a call when fewer than the limit are in flight. An admitted call must be followed by
+     * {@link #onComplete(long, long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onComplete(long startNanos, long endNanos, boolean overloaded) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (overloaded || endNanos - startNanos > latencyThresholdNanos) {
+            decrease(startNanos, endNanos);
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            increase();
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void increase() {
+        while (true) {
+            int current = limit.get();
+            if (current >= maxLimit || limit.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    private void decrease(long startNanos, long endNanos) {
+        long lastDecrease = lastDecreaseNanos.get();
+        if (startNanos < lastDecrease || !lastDecreaseNanos.compareAndSet(lastDecrease, endNanos)) {
+            return;
+        }
+        while (true) {
+            int current = limit.get();
+            int decreased = Math.max(minLimit, (int) (current * backoffRatio));
+            if (decreased == current || limit.compareAndSet(current, decreased)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.severo.beerstock.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes beer names into the key used for lookups and uniqueness, so that "Brahma", "brahma " and "BRAHMÁ"
+ * all name the same beer.
+ */
+public final class BeerNames {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private BeerNames() {
+    }
+
+    /**
+     * Trims, collapses inner whitespace, folds accents and lower-cases the name. Returns null for a null name.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(name.strip(), Normalizer.Form.NFKD)).replaceAll("");
+        return WHITESPACE.matcher(folded).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,72 @@
+package com.severo.beerstock.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token bucket rate limiter implemented as the generic cell rate algorithm: each bucket is a single theoretical
+ * arrival time updated with compare-and-set, so acquiring never locks nor allocates.
+ * <p>
+ * Keys are hashed onto a fixed array of buckets instead of being stored, which keeps memory bounded without any
+ * eviction. Keys that collide share one bucket and therefore one rate, so the bucket count should stay well above the
+ * number of keys active at once. Times are monotonic nanoseconds that never go below zero.
+ */
+public class GcraRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray theoreticalArrivals;
+    private final int hashShift;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public GcraRateLimiter(int buckets, double requestsPerSecond, int burst) {
+        if (buckets < 2 || Integer.bitCount(buckets) != 1) {
+            throw new IllegalArgumentException("Buckets must be a power of two, got " + buckets);
+        }
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.theoreticalArrivals = new AtomicLongArray(buckets);
+        this.hashShift = Long.numberOfLeadingZeros(buckets - 1);
+        this.emissionIntervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / requestsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    /**
+     * Takes one token from the bucket of the key.
+     *
+     * @return 0 when the request is allowed, otherwise the nanoseconds until the bucket has a token again
+     */
+    public long tryAcquire(long key, long nowNanos) {
+        int bucket = bucket(key);
+        while (true) {
+            long theoreticalArrival = theoreticalArrivals.get(bucket);
+            long nextArrival = Math.max(theoreticalArrival, nowNanos) + emissionIntervalNanos;
+            long waitNanos = nextArrival - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivals.compareAndSet(bucket, theoreticalArrival, nextArrival)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Counts the buckets that are not full, i.e. that were used within the time they take to refill.
+     */
+    public int drainingBuckets(long nowNanos) {
+        int draining = 0;
+        for (int bucket = 0; bucket < theoreticalArrivals.length(); bucket++) {
+            if (theoreticalArrivals.get(bucket) > nowNanos) {
+                draining++;
+            }
+        }
+        return draining;
+    }
+
+    private int bucket(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> hashShift);
+    }
+}
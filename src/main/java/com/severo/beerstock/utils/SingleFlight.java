@@ -0,0 +1,91 @@
+package com.severo.beerstock.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Collapses concurrent calls with equal keys into one: the first caller runs the call, and callers arriving while it
+ * is in flight wait for it and share its result, or its exception. Nothing is kept once the call completes, so this
+ * never serves a result computed before the caller arrived.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("beer.singleflight.calls")
+                .tag("flight", name)
+                .tag("role", "leader")
+                .description("Calls that ran, as leader, or joined a call already in flight, as follower")
+                .register(meterRegistry);
+        this.followers = Counter.builder("beer.singleflight.calls")
+                .tag("flight", name)
+                .tag("role", "follower")
+                .description("Calls that ran, as leader, or joined a call already in flight, as follower")
+                .register(meterRegistry);
+        Gauge.builder("beer.singleflight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .tag("flight", name)
+                .description("Share of calls served by joining a call already in flight")
+                .register(meterRegistry);
+    }
+
+    public <E extends Exception> V execute(K key, Call<V, E> call) throws E {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            followers.increment();
+            return this.<E>await(existing);
+        }
+        leaders.increment();
+        try {
+            V value = call.call();
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public double coalescingRatio() {
+        double followerCount = followers.count();
+        double total = leaders.count() + followerCount;
+        return total == 0 ? 0 : followerCount / total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> V await(CompletableFuture<V> flight) throws E {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a call in flight", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            // the call can only throw E besides unchecked exceptions
+            throw (E) cause;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Call<V, E extends Exception> {
+
+        V call() throws E;
+    }
+}
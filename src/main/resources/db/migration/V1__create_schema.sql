@@ -0,0 +1,55 @@
+create sequence beer_seq start with 1 increment by 50;
+create sequence stock_reservation_seq start with 1 increment by 50;
+
+create table beer (
+    id                bigint       not null,
+    name              varchar(200) not null,
+    name_key          varchar(200) not null,
+    brand             varchar(200) not null,
+    max               integer      not null,
+    quantity          integer      not null,
+    reserved          integer      not null,
+    reorder_threshold integer      not null default 0,
+    low_stock         boolean generated always as (quantity < reorder_threshold),
+    type              varchar(32)  not null,
+    version           bigint,
+    constraint pk_beer primary key (id),
+    -- findByName and the duplicate name checks
+    constraint uk_beer_name_key unique (name_key)
+);
+
+-- listAll filters and keyset paging
+create index idx_beer_type on beer (type);
+create index idx_beer_brand on beer (brand);
+create index idx_beer_quantity on beer (quantity);
+-- GET /low-stock
+create index idx_beer_low_stock on beer (low_stock, id);
+
+create table beer_change (
+    seq         bigint                   not null,
+    beer_id     bigint                   not null,
+    name        varchar(200)             not null,
+    change_type varchar(32)              not null,
+    delta       integer                  not null,
+    quantity    integer                  not null,
+    changed_at  timestamp with time zone not null,
+    constraint pk_beer_change primary key (seq)
+);
+
+create table hot_stock_checkpoint (
+    segment_id bigint                   not null,
+    flushed_at timestamp with time zone not null,
+    constraint pk_hot_stock_checkpoint primary key (segment_id)
+);
+
+create table stock_reservation (
+    id         bigint                   not null,
+    beer_id    bigint                   not null,
+    quantity   integer                  not null,
+    status     varchar(32)              not null,
+    expires_at timestamp with time zone not null,
+    constraint pk_stock_reservation primary key (id)
+);
+
+-- expired reservation sweep
+create index idx_stock_reservation_status_expires_at on stock_reservation (status, expires_at);
@@ -0,0 +1,34 @@
+-- stock held at some location; the rest of beer.quantity is unallocated
+alter table beer add column allocated integer not null default 0;
+
+create sequence location_seq start with 1 increment by 50;
+
+create table location (
+    id       bigint       not null,
+    name     varchar(200) not null,
+    quantity bigint       not null default 0,
+    constraint pk_location primary key (id),
+    constraint uk_location_name unique (name)
+);
+
+create table location_stock (
+    beer_id     bigint  not null,
+    location_id bigint  not null,
+    quantity    integer not null,
+    constraint pk_location_stock primary key (beer_id, location_id),
+    constraint fk_location_stock_beer foreign key (beer_id) references beer (id),
+    constraint fk_location_stock_location foreign key (location_id) references location (id)
+);
+
+-- stock of a location
+create index idx_location_stock_location on location_stock (location_id, beer_id);
+
+create table beer_type_stock (
+    type     varchar(32) not null,
+    quantity bigint      not null,
+    constraint pk_beer_type_stock primary key (type)
+);
+
+-- one-off seed, kept up to date by every recorded beer change afterwards
+insert into beer_type_stock (type, quantity)
+select type, sum(quantity) from beer group by type;
@@ -0,0 +1,14 @@
+-- type of the beer when the change was made, so the per-type totals can be folded from the change log
+alter table beer_change add column type varchar(32);
+
+update beer_change c set type = (select b.type from beer b where b.id = c.beer_id);
+
+-- last change folded into beer_type_stock; the totals seeded so far already include every recorded change
+create table beer_type_stock_position (
+    id  integer not null,
+    seq bigint  not null,
+    constraint pk_beer_type_stock_position primary key (id)
+);
+
+insert into beer_type_stock_position (id, seq)
+select 1, coalesce(max(seq), 0) from beer_change;
@@ -0,0 +1,45 @@
+package com.severo.beerstock.config;
+
+import com.severo.beerstock.repository.BeerTypeStockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MetricsConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void whenStockUnitsAreScrapedThenTheGaugeReportsTheTotalStock() {
+        //given
+        BeerTypeStockRepository beerTypeStockRepository = mock(BeerTypeStockRepository.class);
+        when(beerTypeStockRepository.sumQuantity()).thenReturn(42L);
+        new MetricsConfig().beerStockMetrics(beerTypeStockRepository).bindTo(meterRegistry);
+        //when
+        double stockUnits = meterRegistry.get(MetricsConfig.STOCK_UNITS_METRIC).gauge().value();
+        //then
+        assertThat(stockUnits, is(equalTo(42.0)));
+    }
+
+    @Test
+    void whenStockUnitsAreScrapedRepeatedlyThenTheTotalIsNotRecomputedOnEveryScrape() {
+        //given
+        BeerTypeStockRepository beerTypeStockRepository = mock(BeerTypeStockRepository.class);
+        when(beerTypeStockRepository.sumQuantity()).thenReturn(42L, 50L);
+        new MetricsConfig().beerStockMetrics(beerTypeStockRepository).bindTo(meterRegistry);
+        //when
+        for (int i = 0; i < 10; i++) {
+            meterRegistry.get(MetricsConfig.STOCK_UNITS_METRIC).gauge().value();
+        }
+        //then
+        assertThat(meterRegistry.get(MetricsConfig.STOCK_UNITS_METRIC).gauge().value(), is(equalTo(42.0)));
+        verify(beerTypeStockRepository, times(1)).sumQuantity();
+    }
+}
@@ -1,30 +1,67 @@
 package com.severo.beerstock.controller;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import com.severo.beerstock.dto.BeerBatchRequestDTO;
+import com.severo.beerstock.dto.BeerChangeBatchDTO;
+import com.severo.beerstock.dto.BeerChangeDTO;
 import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerFilterDTO;
+import com.severo.beerstock.dto.BeerSearchResultDTO;
+import com.severo.beerstock.dto.BeerTypeStockDTO;
 import com.severo.beerstock.dto.QuantityDTO;
+import com.severo.beerstock.dto.StockAdjustmentDTO;
+import com.severo.beerstock.dto.StockAdjustmentRequestDTO;
+import com.severo.beerstock.dto.StockAdjustmentResultDTO;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.enums.ExportFormat;
+import com.severo.beerstock.enums.StockAdjustmentStatus;
+import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
 import com.severo.beerstock.exception.BeerNotFoundException;
 import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.BeerVersionMismatchException;
+import com.severo.beerstock.service.BeerCatalogSnapshot;
+import com.severo.beerstock.service.BeerChangeService;
+import com.severo.beerstock.service.BeerExportService;
+import com.severo.beerstock.service.BeerSearchIndex;
 import com.severo.beerstock.service.BeerService;
+import com.severo.beerstock.service.BeerStockEventBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 
 import static com.severo.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,12 +72,28 @@ class BeerControllerTest {
     private static final long INVALID_BEER_ID = 2L;
     private static final String BEER_API_SUBPATH_INCREMENT_URL = "/increment";
     private static final String BEER_API_SUBPATH_DECREMENT_URL = "/decrement";
+    private static final String BEER_API_SUBPATH_STOCK_ADJUSTMENTS_URL = "/stock-adjustments";
 
     private MockMvc mockMvc;
 
     @Mock
     private BeerService beerService;
 
+    @Mock
+    private BeerExportService beerExportService;
+
+    @Mock
+    private BeerStockEventBroadcaster beerStockEventBroadcaster;
+
+    @Mock
+    private BeerChangeService beerChangeService;
+
+    @Mock
+    private BeerSearchIndex beerSearchIndex;
+
+    @Mock
+    private BeerCatalogSnapshot beerCatalogSnapshot;
+
     @InjectMocks
     private BeerController beerController;
 
@@ -81,6 +134,34 @@ class BeerControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenPOSTBatchIsCalledThenBeersAreCreated() throws Exception {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        BeerBatchRequestDTO request = new BeerBatchRequestDTO(Collections.singletonList(beerDTO));
+        //when
+        when(beerService.createBeers(request.getBeers())).thenReturn(request.getBeers());
+        //then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].name", is(beerDTO.getName())));
+    }
+
+    @Test
+    void whenPOSTBatchIsCalledWithAlreadyRegisteredBeerThenBadRequestStatusIsReturned() throws Exception {
+        //given
+        BeerBatchRequestDTO request = new BeerBatchRequestDTO(Collections.singletonList(getBeerDTO()));
+        //when
+        when(beerService.createBeers(request.getBeers())).thenThrow(BeerAlreadyRegisteredException.class);
+        //then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void whenGETIsCalledWithValidNameThenOkStatusIsReturned() throws Exception {
         //given
@@ -96,6 +177,23 @@ class BeerControllerTest {
                     .andExpect(jsonPath("$.type", is(beerDTO.getType().toString())));
     }
 
+    @Test
+    void whenGETIsCalledAcceptingCborThenTheBeerIsReturnedAsCbor() throws Exception {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        //when
+        when(beerService.findByName(beerDTO.getName())).thenReturn(beerDTO);
+        //then
+        MvcResult mvcResult = mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        BeerDTO returnedBeerDTO = new CBORMapper().readValue(mvcResult.getResponse().getContentAsByteArray(), BeerDTO.class);
+        assertThat(returnedBeerDTO, is(beerDTO));
+    }
+
     @Test
     void whenGETIsCalledWithoudRegisteredNameThenNotFoundStatusIsReturned() throws Exception {
         //given
@@ -113,27 +211,216 @@ class BeerControllerTest {
         //given
         BeerDTO beerDTO = getBeerDTO();
         //when
-        when(beerService.listAll()).thenReturn(Collections.singletonList(beerDTO));
+        when(beerService.listAll(any(BeerFilterDTO.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(beerDTO), PageRequest.of(0, 20), 1));
         //then
         mockMvc.perform(get(BEER_API_URL_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name", is(beerDTO.getName())))
-                .andExpect(jsonPath("$[0].brand", is(beerDTO.getBrand())))
-                .andExpect(jsonPath("$[0].type", is(beerDTO.getType().toString())));
+                .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())))
+                .andExpect(jsonPath("$.content[0].brand", is(beerDTO.getBrand())))
+                .andExpect(jsonPath("$.content[0].type", is(beerDTO.getType().toString())));
     }
 
 
     @Test
     void whenGETListWithoutBeersIsCalledThenOkStatusIsReturned() throws Exception {
+        //given
+        //when
+        when(beerService.listAll(any(BeerFilterDTO.class), any(Pageable.class))).thenReturn(Page.empty(PageRequest.of(0, 20)));
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void whenGETListIsCalledWithFiltersAndPagingThenTheyAreForwarded() throws Exception {
         //given
         BeerDTO beerDTO = getBeerDTO();
+        BeerFilterDTO expectedFilter = BeerFilterDTO.builder()
+                .type(BeerType.LAGER)
+                .brand(beerDTO.getBrand())
+                .lowStockThreshold(15)
+                .afterId(VALID_BEER_ID)
+                .build();
+        Pageable expectedPageable = PageRequest.of(1, 5, Sort.by("name"));
         //when
-        when(beerService.listAll()).thenReturn(Collections.singletonList(beerDTO));
+        when(beerService.listAll(expectedFilter, expectedPageable))
+                .thenReturn(new PageImpl<>(Collections.singletonList(beerDTO), expectedPageable, 6));
         //then
         mockMvc.perform(get(BEER_API_URL_PATH)
+                .param("type", BeerType.LAGER.toString())
+                .param("brand", beerDTO.getBrand())
+                .param("lowStockThreshold", "15")
+                .param("afterId", String.valueOf(VALID_BEER_ID))
+                .param("page", "1")
+                .param("size", "5")
+                .param("sort", "name")
                 .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())))
+                .andExpect(jsonPath("$.totalElements", is(6)));
+    }
+
+    @Test
+    void whenGETIsCalledWithCurrentETagThenNotModifiedStatusIsReturned() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().version(3L).build().toBeerDTO();
+        //when
+        when(beerService.findByName(beerDTO.getName())).thenReturn(beerDTO);
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenGETIsCalledWithTheETagOfACachedBeerThenTheBeerIsNotLoaded() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().version(3L).build().toBeerDTO();
+        //when
+        when(beerService.findCachedByName(beerDTO.getName())).thenReturn(beerDTO);
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified());
+        verify(beerService, never()).findByName(beerDTO.getName());
+    }
+
+    @Test
+    void whenGETListIsCalledWithCurrentCatalogETagThenNotModifiedStatusIsReturned() throws Exception {
+        //given
+        when(beerService.catalogVersion()).thenReturn("42-0");
+        when(beerService.listAll(any(BeerFilterDTO.class), any(Pageable.class))).thenReturn(new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 20), 0));
+        String eTag = mockMvc.perform(get(BEER_API_URL_PATH)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        //when
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        //then
+        verify(beerService, times(1)).listAll(any(BeerFilterDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    void whenGETListIsCalledWithTheETagOfAnotherPageOrMediaTypeThenTheListIsReturned() throws Exception {
+        //given
+        when(beerService.catalogVersion()).thenReturn("42-0");
+        when(beerService.listAll(any(BeerFilterDTO.class), any(Pageable.class))).thenReturn(new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 20), 0));
+        String eTag = mockMvc.perform(get(BEER_API_URL_PATH)
+                .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        //when
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                .param("page", "1")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
                 .andExpect(status().isOk());
+        //then
+        verify(beerService, times(3)).listAll(any(BeerFilterDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    void whenGETSearchIsCalledThenRankedMatchesAreReturned() throws Exception {
+        //given
+        BeerSearchResultDTO searchResultDTO = BeerSearchResultDTO.builder()
+                .id(VALID_BEER_ID)
+                .name("Brahma")
+                .brand("Ambev")
+                .type(BeerType.LAGER)
+                .score(3)
+                .build();
+        //when
+        when(beerSearchIndex.search("brah", BeerType.LAGER, 5)).thenReturn(Collections.singletonList(searchResultDTO));
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/search")
+                .param("q", "brah")
+                .param("type", BeerType.LAGER.toString())
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is(searchResultDTO.getName())))
+                .andExpect(jsonPath("$[0].score", is(3)));
+    }
+
+    @Test
+    void whenGETCatalogIsCalledThenTheSnapshotBytesAreReturned() throws Exception {
+        //given
+        byte[] json = "[{\"id\":1,\"name\":\"Brahma\"}]".getBytes(StandardCharsets.UTF_8);
+        //when
+        when(beerCatalogSnapshot.current()).thenReturn(new BeerCatalogSnapshot.Snapshot(7L, 0L, json, new byte[]{1, 2, 3}));
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/catalog"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-0\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(json));
+    }
+
+    @Test
+    void whenGETCatalogAcceptsGzipThenTheCompressedSnapshotIsReturned() throws Exception {
+        //given
+        byte[] gzip = {1, 2, 3};
+        //when
+        when(beerCatalogSnapshot.current()).thenReturn(new BeerCatalogSnapshot.Snapshot(7L, 0L, new byte[]{'[', ']'}, gzip));
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/catalog")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-0-gzip\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(gzip));
+    }
+
+    @Test
+    void whenGETCatalogIsCalledWithTheCurrentETagThenNotModifiedIsReturned() throws Exception {
+        //given
+        //when
+        when(beerCatalogSnapshot.current()).thenReturn(new BeerCatalogSnapshot.Snapshot(7L, 0L, new byte[]{'[', ']'}, null));
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/catalog")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7-0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void whenGETLowStockIsCalledThenBeersBelowTheirThresholdAreReturned() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().quantity(3).reorderThreshold(5).build().toBeerDTO();
+        //when
+        when(beerService.listLowStock(any(Pageable.class))).thenReturn(new PageImpl<>(Collections.singletonList(beerDTO), PageRequest.of(0, 20), 1));
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/low-stock")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())))
+                .andExpect(jsonPath("$.content[0].reorderThreshold", is(5)));
+    }
+
+    @Test
+    void whenGETStockByTypeIsCalledThenTotalsPerTypeAreReturned() throws Exception {
+        //given
+        BeerTypeStockDTO typeStockDTO = new BeerTypeStockDTO(BeerType.LAGER, 42L);
+        //when
+        when(beerService.listStockByType()).thenReturn(Collections.singletonList(typeStockDTO));
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/stock-by-type")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type", is(BeerType.LAGER.toString())))
+                .andExpect(jsonPath("$[0].quantity", is(42)));
     }
 
     @Test
@@ -181,6 +468,72 @@ class BeerControllerTest {
 
     }
 
+    @Test
+    void whenPATCHIsCalledToIncrementWithIfMatchThenTheVersionIsChecked() throws Exception {
+        //given
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(10)
+                .build();
+        BeerDTO beerDTO = BeerDTOBuilder.builder().quantity(20).version(4L).build().toBeerDTO();
+        //when
+        when(beerService.incrementIfMatch(VALID_BEER_ID, quantityDTO.getQuantity(), 3L)).thenReturn(beerDTO);
+        //then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO))).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(jsonPath("$.quantity", is(beerDTO.getQuantity())));
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementWithStaleIfMatchThenPreconditionFailedStatusIsReturned() throws Exception {
+        //given
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(10)
+                .build();
+        //when
+        when(beerService.incrementIfMatch(VALID_BEER_ID, quantityDTO.getQuantity(), 3L)).thenThrow(BeerVersionMismatchException.class);
+        //then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO))).andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void whenPATCHIsCalledToDecrementWithWeakIfMatchThenPreconditionFailedStatusIsReturned() throws Exception {
+        //given
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(5)
+                .build();
+        //when
+        //then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_DECREMENT_URL)
+                .header(HttpHeaders.IF_MATCH, "W/\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO))).andExpect(status().isPreconditionFailed());
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementWithCborBodyThenOKStatusIsReturned() throws Exception {
+        //given
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(10)
+                .build();
+        BeerDTO beerDTO = BeerDTOBuilder.builder().quantity(20).build().toBeerDTO();
+        //when
+        when(beerService.increment(VALID_BEER_ID, quantityDTO.getQuantity())).thenReturn(beerDTO);
+        //then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT_URL)
+                .contentType(MediaType.APPLICATION_CBOR)
+                .content(new CBORMapper().writeValueAsBytes(quantityDTO)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.quantity", is(beerDTO.getQuantity())));
+    }
+
     @Test
     void whenPATCHIsCalledToIncrementGreatherThanMaxThenBadRequestStatusIsReturned() throws Exception {
         //given
@@ -269,6 +622,101 @@ class BeerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenPOSTIsCalledWithStockAdjustmentsThenOkStatusIsReturned() throws Exception {
+        //given
+        StockAdjustmentDTO adjustment = StockAdjustmentDTO.builder()
+                .id(VALID_BEER_ID)
+                .delta(-5)
+                .build();
+        StockAdjustmentRequestDTO request = new StockAdjustmentRequestDTO(Collections.singletonList(adjustment));
+        StockAdjustmentResultDTO result = new StockAdjustmentResultDTO(VALID_BEER_ID, -5, StockAdjustmentStatus.APPLIED);
+        //when
+        when(beerService.adjustStock(request.getAdjustments())).thenReturn(Collections.singletonList(result));
+        //then
+        mockMvc.perform(post(BEER_API_URL_PATH + BEER_API_SUBPATH_STOCK_ADJUSTMENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is((int) VALID_BEER_ID)))
+                .andExpect(jsonPath("$[0].status", is(StockAdjustmentStatus.APPLIED.toString())));
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutStockAdjustmentsThenBadRequestStatusIsReturned() throws Exception {
+        //given
+        StockAdjustmentRequestDTO request = new StockAdjustmentRequestDTO(Collections.emptyList());
+        //when
+        //then
+        mockMvc.perform(post(BEER_API_URL_PATH + BEER_API_SUBPATH_STOCK_ADJUSTMENTS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenGETExportIsCalledThenTheCatalogIsStreamedAsNdjson() throws Exception {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        String expectedLine = asJsonString(beerDTO) + "\n";
+        //when
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write(expectedLine.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(beerExportService).export(eq(ExportFormat.NDJSON), any(OutputStream.class));
+        //then
+        MvcResult mvcResult = mockMvc.perform(get(BEER_API_URL_PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportFormat.NDJSON.getMediaType()))
+                .andExpect(content().string(expectedLine));
+    }
+
+    @Test
+    void whenGETEventsIsCalledThenAStockEventStreamIsOpened() throws Exception {
+        //given
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().name("stock").data("{\"id\":1}"));
+        //when
+        when(beerStockEventBroadcaster.subscribe()).thenReturn(emitter);
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/events")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:stock")));
+        emitter.complete();
+    }
+
+    @Test
+    void whenGETChangesIsCalledThenChangesAfterTheGivenSequenceAreReturned() throws Exception {
+        //given
+        BeerChangeDTO beerChangeDTO = BeerChangeDTO.builder()
+                .seq(11L)
+                .beerId(VALID_BEER_ID)
+                .name("Brahma")
+                .changeType(BeerChangeType.DECREMENTED)
+                .delta(-5)
+                .quantity(5)
+                .build();
+        BeerChangeBatchDTO batch = new BeerChangeBatchDTO(Collections.singletonList(beerChangeDTO), 11L, false);
+        //when
+        when(beerChangeService.findChanges(10L, 500)).thenReturn(batch);
+        //then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/changes")
+                .param("since", "10")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].seq", is(11)))
+                .andExpect(jsonPath("$.changes[0].changeType", is(BeerChangeType.DECREMENTED.toString())))
+                .andExpect(jsonPath("$.lastSeq", is(11)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
     private BeerDTO getBeerDTO() {
         return BeerDTOBuilder.builder().build().toBeerDTO();
     }
@@ -0,0 +1,122 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.LocationDTO;
+import com.severo.beerstock.dto.LocationStockDTO;
+import com.severo.beerstock.dto.QuantityDTO;
+import com.severo.beerstock.dto.StockTransferDTO;
+import com.severo.beerstock.exception.LocationStockNotSupportedException;
+import com.severo.beerstock.service.LocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+
+import static com.severo.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class LocationControllerTest {
+
+    private static final String LOCATION_API_URL_PATH = "/api/v1/locations";
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final long VALID_BEER_ID = 1L;
+    private static final long BAR_ID = 10L;
+    private static final long WAREHOUSE_ID = 20L;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private LocationService locationService;
+
+    @InjectMocks
+    private LocationController locationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(locationController).build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenALocationIsCreated() throws Exception {
+        //given
+        LocationDTO locationDTO = LocationDTO.builder().name("Bar").build();
+        //when
+        when(locationService.createLocation(locationDTO)).thenReturn(new LocationDTO(BAR_ID, "Bar", 0L));
+        //then
+        mockMvc.perform(post(LOCATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(locationDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is((int) BAR_ID)))
+                .andExpect(jsonPath("$.quantity", is(0)));
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementAtALocationThenOkStatusIsReturned() throws Exception {
+        //given
+        QuantityDTO quantityDTO = QuantityDTO.builder().quantity(5).build();
+        //when
+        when(locationService.increment(VALID_BEER_ID, BAR_ID, 5)).thenReturn(new LocationStockDTO(BAR_ID, "Bar", 5));
+        //then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/locations/" + BAR_ID + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locationName", is("Bar")))
+                .andExpect(jsonPath("$.quantity", is(5)));
+    }
+
+    @Test
+    void whenPATCHIsCalledForABeerKeptInMemoryThenConflictStatusIsReturned() throws Exception {
+        //given
+        QuantityDTO quantityDTO = QuantityDTO.builder().quantity(5).build();
+        //when
+        when(locationService.decrement(VALID_BEER_ID, BAR_ID, 5)).thenThrow(LocationStockNotSupportedException.class);
+        //then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/locations/" + BAR_ID + "/decrement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void whenPOSTIsCalledToTransferStockThenTheBeerStockPerLocationIsReturned() throws Exception {
+        //given
+        StockTransferDTO transfer = new StockTransferDTO(WAREHOUSE_ID, BAR_ID, 4);
+        //when
+        when(locationService.transfer(VALID_BEER_ID, transfer)).thenReturn(Arrays.asList(
+                new LocationStockDTO(BAR_ID, "Bar", 4),
+                new LocationStockDTO(WAREHOUSE_ID, "Warehouse", 6)));
+        //then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(transfer)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity", is(4)))
+                .andExpect(jsonPath("$[1].quantity", is(6)));
+    }
+
+    @Test
+    void whenPOSTIsCalledToTransferWithoutQuantityThenBadRequestStatusIsReturned() throws Exception {
+        //given
+        StockTransferDTO transfer = new StockTransferDTO(WAREHOUSE_ID, BAR_ID, null);
+        //when
+        //then
+        mockMvc.perform(post(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(transfer)))
+                .andExpect(status().isBadRequest());
+    }
+}
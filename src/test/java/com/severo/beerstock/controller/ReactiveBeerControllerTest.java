@@ -0,0 +1,130 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.QuantityDTO;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.service.ReactiveBeerService;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBeerControllerTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final long VALID_BEER_ID = 1L;
+    private static final long INVALID_BEER_ID = 2L;
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveBeerService beerService;
+
+    @InjectMocks
+    private ReactiveBeerController beerController;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(beerController).build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenABeerIsCreated() {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        //when
+        when(beerService.createBeer(beerDTO)).thenReturn(Mono.just(beerDTO));
+        //then
+        webTestClient.post().uri(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(beerDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo(beerDTO.getName())
+                .jsonPath("$.type").isEqualTo(beerDTO.getType().toString());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoudRequiredFieldThenAnErrorIsReturned() {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        beerDTO.setBrand(null);
+        //when
+        //then
+        webTestClient.post().uri(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(beerDTO)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenGETIsCalledWithoutRegisteredNameThenNotFoundStatusIsReturned() {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        //when
+        when(beerService.findByName(beerDTO.getName())).thenReturn(Mono.error(new BeerNotFoundException(beerDTO.getName())));
+        //then
+        webTestClient.get().uri(BEER_API_URL_PATH + "/" + beerDTO.getName())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenGETListIsCalledWithNdjsonThenBeersAreStreamed() {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        //when
+        when(beerService.listAll()).thenReturn(Flux.just(beerDTO));
+        //then
+        webTestClient.get().uri(BEER_API_URL_PATH)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BeerDTO.class).hasSize(1).contains(beerDTO);
+    }
+
+    @Test
+    void whenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() {
+        //when
+        when(beerService.deleteById(INVALID_BEER_ID)).thenReturn(Mono.error(new BeerNotFoundException(INVALID_BEER_ID)));
+        //then
+        webTestClient.delete().uri(BEER_API_URL_PATH + "/" + INVALID_BEER_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementGreatherThanMaxThenBadRequestStatusIsReturned() {
+        //given
+        QuantityDTO quantityDTO = QuantityDTO.builder()
+                .quantity(30)
+                .build();
+        //when
+        when(beerService.increment(VALID_BEER_ID, quantityDTO.getQuantity()))
+                .thenReturn(Mono.error(new BeerStockExceededException(VALID_BEER_ID, quantityDTO.getQuantity())));
+        //then
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/" + VALID_BEER_ID + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(quantityDTO)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private BeerDTO getBeerDTO() {
+        return BeerDTOBuilder.builder().build().toBeerDTO();
+    }
+}
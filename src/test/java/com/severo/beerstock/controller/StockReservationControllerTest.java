@@ -0,0 +1,127 @@
+package com.severo.beerstock.controller;
+
+import com.severo.beerstock.dto.StockAvailabilityDTO;
+import com.severo.beerstock.dto.StockReservationDTO;
+import com.severo.beerstock.dto.StockReservationRequestDTO;
+import com.severo.beerstock.enums.ReservationStatus;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.StockReservationNotActiveException;
+import com.severo.beerstock.exception.StockReservationNotSupportedException;
+import com.severo.beerstock.service.StockReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+
+import static com.severo.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationControllerTest {
+
+    private static final String RESERVATION_API_URL_PATH = "/api/v1/reservations";
+    private static final long VALID_BEER_ID = 1L;
+    private static final long VALID_RESERVATION_ID = 10L;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @InjectMocks
+    private StockReservationController stockReservationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(stockReservationController).build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenAReservationIsCreated() throws Exception {
+        //given
+        StockReservationRequestDTO request = new StockReservationRequestDTO(VALID_BEER_ID, 5, 60L);
+        StockReservationDTO reservation = new StockReservationDTO(VALID_RESERVATION_ID, VALID_BEER_ID, 5,
+                ReservationStatus.ACTIVE, Instant.now().plusSeconds(60));
+        //when
+        when(stockReservationService.reserve(request)).thenReturn(reservation);
+        //then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is((int) VALID_RESERVATION_ID)))
+                .andExpect(jsonPath("$.status", is(ReservationStatus.ACTIVE.toString())));
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutTtlThenBadRequestStatusIsReturned() throws Exception {
+        //given
+        StockReservationRequestDTO request = new StockReservationRequestDTO(VALID_BEER_ID, 5, null);
+        //when
+        //then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutAvailableStockThenBadRequestStatusIsReturned() throws Exception {
+        //given
+        StockReservationRequestDTO request = new StockReservationRequestDTO(VALID_BEER_ID, 50, 60L);
+        //when
+        when(stockReservationService.reserve(request)).thenThrow(BeerStockExceededException.class);
+        //then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPOSTIsCalledForHotBeerThenConflictStatusIsReturned() throws Exception {
+        //given
+        StockReservationRequestDTO request = new StockReservationRequestDTO(VALID_BEER_ID, 5, 60L);
+        //when
+        when(stockReservationService.reserve(request)).thenThrow(StockReservationNotSupportedException.class);
+        //then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void whenConfirmIsCalledOnInactiveReservationThenBadRequestStatusIsReturned() throws Exception {
+        //given
+        //when
+        when(stockReservationService.confirm(VALID_RESERVATION_ID)).thenThrow(StockReservationNotActiveException.class);
+        //then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH + "/" + VALID_RESERVATION_ID + "/confirm"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenGETAvailabilityIsCalledThenAvailableStockIsReturned() throws Exception {
+        //given
+        StockAvailabilityDTO availability = new StockAvailabilityDTO(VALID_BEER_ID, 10, 4, 6);
+        //when
+        when(stockReservationService.findAvailability(VALID_BEER_ID)).thenReturn(availability);
+        //then
+        mockMvc.perform(get(RESERVATION_API_URL_PATH + "/availability/" + VALID_BEER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available", is(6)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.severo.beerstock.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class IdempotencyFilterTest {
+
+    private static final String DECREMENT_URL_PATH = "/api/v1/beers/1/decrement";
+    private static final String ETAG = "\"1-4\"";
+
+    private IdempotencyFilter idempotencyFilter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(new SimpleMeterRegistry(), 100, 60000, 5000);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void whenRequestIsRetriedWithTheSameKeyThenTheStoredResponseIsReturned() throws Exception {
+        //given
+        FilterChain decrementChain = countingChain(HttpStatus.OK);
+        idempotencyFilter.doFilter(decrement("key-1", "{\"quantity\":5}"), new MockHttpServletResponse(), decrementChain);
+        //when
+        MockHttpServletResponse retryResponse = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(decrement("key-1", "{\"quantity\":5}"), retryResponse, decrementChain);
+        //then
+        assertThat(executions.get(), is(equalTo(1)));
+        assertThat(retryResponse.getStatus(), is(equalTo(HttpStatus.OK.value())));
+        assertThat(retryResponse.getContentAsString(), is(equalTo("{\"quantity\":5}")));
+        assertThat(retryResponse.getHeader(HttpHeaders.ETAG), is(equalTo(ETAG)));
+        assertThat(retryResponse.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER), is(equalTo("true")));
+    }
+
+    @Test
+    void whenKeyIsReusedForAnotherRequestThenUnprocessableEntityIsReturned() throws Exception {
+        //given
+        FilterChain decrementChain = countingChain(HttpStatus.OK);
+        idempotencyFilter.doFilter(decrement("key-1", "{\"quantity\":5}"), new MockHttpServletResponse(), decrementChain);
+        //when
+        MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(decrement("key-1", "{\"quantity\":6}"), otherResponse, decrementChain);
+        //then
+        assertThat(executions.get(), is(equalTo(1)));
+        assertThat(otherResponse.getStatus(), is(equalTo(HttpStatus.UNPROCESSABLE_ENTITY.value())));
+    }
+
+    @Test
+    void whenRequestFailsThenARetryWithTheSameKeyRunsAgain() throws Exception {
+        //given
+        FilterChain failingChain = countingChain(HttpStatus.BAD_REQUEST);
+        idempotencyFilter.doFilter(decrement("key-1", "{\"quantity\":5}"), new MockHttpServletResponse(), failingChain);
+        //when
+        MockHttpServletResponse retryResponse = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(decrement("key-1", "{\"quantity\":5}"), retryResponse, countingChain(HttpStatus.OK));
+        //then
+        assertThat(executions.get(), is(equalTo(2)));
+        assertThat(retryResponse.getStatus(), is(equalTo(HttpStatus.OK.value())));
+        assertThat(retryResponse.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER), is(nullValue()));
+    }
+
+    @Test
+    void whenRequestHasNoKeyThenItAlwaysRuns() throws Exception {
+        //given
+        FilterChain decrementChain = countingChain(HttpStatus.OK);
+        //when
+        idempotencyFilter.doFilter(decrement(null, "{\"quantity\":5}"), new MockHttpServletResponse(), decrementChain);
+        idempotencyFilter.doFilter(decrement(null, "{\"quantity\":5}"), new MockHttpServletResponse(), decrementChain);
+        //then
+        assertThat(executions.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void whenDuplicatesArriveConcurrentlyThenTheRequestRunsOnce() throws Exception {
+        //given
+        CountDownLatch firstRequestStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRequest = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            firstRequestStarted.countDown();
+            try {
+                releaseFirstRequest.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            countingChain(HttpStatus.OK).doFilter(request, response);
+        };
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        MockHttpServletResponse duplicateResponse = new MockHttpServletResponse();
+        CompletableFuture<Void> firstRequest = CompletableFuture.runAsync(() -> doFilter(firstResponse, slowChain));
+        firstRequestStarted.await(5, TimeUnit.SECONDS);
+        //when
+        CompletableFuture<Void> duplicateRequest = CompletableFuture.runAsync(() -> doFilter(duplicateResponse, slowChain));
+        Thread.sleep(100);
+        releaseFirstRequest.countDown();
+        CompletableFuture.allOf(firstRequest, duplicateRequest).get(5, TimeUnit.SECONDS);
+        //then
+        assertThat(executions.get(), is(equalTo(1)));
+        assertThat(duplicateResponse.getContentAsString(), is(equalTo(firstResponse.getContentAsString())));
+        assertThat(duplicateResponse.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER), is(equalTo("true")));
+    }
+
+    private void doFilter(MockHttpServletResponse response, FilterChain filterChain) {
+        try {
+            idempotencyFilter.doFilter(decrement("key-1", "{\"quantity\":5}"), response, filterChain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private FilterChain countingChain(HttpStatus status) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status.value());
+            httpResponse.setHeader(HttpHeaders.ETAG, ETAG);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest decrement(String idempotencyKey, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", DECREMENT_URL_PATH);
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,146 @@
+package com.severo.beerstock.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final FilterChain okChain = (request, response) -> {
+        executions.incrementAndGet();
+        ((HttpServletResponse) response).setStatus(HttpStatus.OK.value());
+    };
+
+    @Test
+    void whenClientExceedsItsBurstThenTooManyRequestsIsReturned() throws Exception {
+        //given
+        RateLimitFilter rateLimitFilter = newFilter(2, 100, 10);
+        rateLimitFilter.doFilter(decrement(1L, "10.0.0.1"), new MockHttpServletResponse(), okChain);
+        rateLimitFilter.doFilter(decrement(2L, "10.0.0.1"), new MockHttpServletResponse(), okChain);
+        //when
+        MockHttpServletResponse limitedResponse = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(decrement(3L, "10.0.0.1"), limitedResponse, okChain);
+        MockHttpServletResponse otherClientResponse = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(decrement(3L, "10.0.0.2"), otherClientResponse, okChain);
+        //then
+        assertThat(executions.get(), is(equalTo(3)));
+        assertThat(limitedResponse.getStatus(), is(equalTo(HttpStatus.TOO_MANY_REQUESTS.value())));
+        assertThat(limitedResponse.getHeader(HttpHeaders.RETRY_AFTER), is(equalTo("1")));
+        assertThat(otherClientResponse.getStatus(), is(equalTo(HttpStatus.OK.value())));
+        assertThat(rejections("client_limited"), is(equalTo(1.0)));
+    }
+
+    @Test
+    void whenBeerExceedsItsBurstThenTooManyRequestsIsReturned() throws Exception {
+        //given
+        RateLimitFilter rateLimitFilter = newFilter(100, 2, 10);
+        rateLimitFilter.doFilter(decrement(1L, "10.0.0.1"), new MockHttpServletResponse(), okChain);
+        rateLimitFilter.doFilter(decrement(1L, "10.0.0.2"), new MockHttpServletResponse(), okChain);
+        //when
+        MockHttpServletResponse limitedResponse = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(decrement(1L, "10.0.0.3"), limitedResponse, okChain);
+        //then
+        assertThat(executions.get(), is(equalTo(2)));
+        assertThat(limitedResponse.getStatus(), is(equalTo(HttpStatus.TOO_MANY_REQUESTS.value())));
+        assertThat(rejections("beer_limited"), is(equalTo(1.0)));
+    }
+
+    @Test
+    void whenConcurrencyLimitIsReachedThenRequestIsShed() throws Exception {
+        //given
+        RateLimitFilter rateLimitFilter = newFilter(100, 100, 1);
+        CountDownLatch firstRequestStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRequest = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            firstRequestStarted.countDown();
+            try {
+                releaseFirstRequest.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            okChain.doFilter(request, response);
+        };
+        CompletableFuture<Void> firstRequest = CompletableFuture.runAsync(() -> {
+            try {
+                rateLimitFilter.doFilter(decrement(1L, "10.0.0.1"), new MockHttpServletResponse(), slowChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        firstRequestStarted.await(5, TimeUnit.SECONDS);
+        //when
+        MockHttpServletResponse shedResponse = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(decrement(2L, "10.0.0.2"), shedResponse, okChain);
+        releaseFirstRequest.countDown();
+        firstRequest.get(5, TimeUnit.SECONDS);
+        //then
+        assertThat(shedResponse.getStatus(), is(equalTo(HttpStatus.SERVICE_UNAVAILABLE.value())));
+        assertThat(shedResponse.getHeader(HttpHeaders.RETRY_AFTER), is(equalTo("1")));
+        assertThat(rejections("shed"), is(equalTo(1.0)));
+        assertThat(meterRegistry.get("beer.ratelimit.concurrency.inflight").gauge().value(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void whenRequestIsNotAStockChangeThenItIsNotLimited() throws Exception {
+        //given
+        RateLimitFilter rateLimitFilter = newFilter(1, 1, 1);
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/beers/1");
+        //when
+        for (int i = 0; i < 3; i++) {
+            rateLimitFilter.doFilter(read, new MockHttpServletResponse(), okChain);
+        }
+        //then
+        assertThat(executions.get(), is(equalTo(3)));
+    }
+
+    @Test
+    void whenPathIsParsedThenOnlyStockChangesYieldABeerId() {
+        assertThat(RateLimitFilter.beerId("/api/v1/beers/42/increment"), is(equalTo(42L)));
+        assertThat(RateLimitFilter.beerId("/api/v1/beers/42/locations/7/decrement"), is(equalTo(42L)));
+        assertThat(RateLimitFilter.beerId("/api/v1/beers/42"), is(equalTo(-1L)));
+        assertThat(RateLimitFilter.beerId("/api/v1/beers/abc/increment"), is(equalTo(-1L)));
+    }
+
+    @Test
+    void whenFiltersAreOrderedThenIdempotentReplaysAreServedBeforeRateLimiting() {
+        //when
+        int idempotencyOrder = OrderUtils.getOrder(IdempotencyFilter.class, Ordered.LOWEST_PRECEDENCE);
+        int rateLimitOrder = OrderUtils.getOrder(RateLimitFilter.class, Ordered.LOWEST_PRECEDENCE);
+        //then
+        assertThat(idempotencyOrder, is(lessThan(rateLimitOrder)));
+    }
+
+    private RateLimitFilter newFilter(int clientBurst, int beerBurst, int concurrencyLimit) {
+        return new RateLimitFilter(meterRegistry, 1024, 1, clientBurst, 1, beerBurst,
+                concurrencyLimit, 1, concurrencyLimit, 60000);
+    }
+
+    private double rejections(String outcome) {
+        return meterRegistry.get("beer.ratelimit.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static MockHttpServletRequest decrement(Long beerId, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/beers/" + beerId + "/decrement");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
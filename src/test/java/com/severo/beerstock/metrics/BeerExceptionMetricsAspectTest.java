@@ -0,0 +1,62 @@
+package com.severo.beerstock.metrics;
+
+import com.severo.beerstock.enums.ExportFormat;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.service.BeerExportService;
+import com.severo.beerstock.service.BeerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BeerExceptionMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BeerExceptionMetricsAspect aspect = new BeerExceptionMetricsAspect(meterRegistry);
+
+    @Test
+    void whenBeerServiceThrowsThenTheExceptionIsCounted() throws Exception {
+        //given
+        BeerService beerService = mock(BeerService.class);
+        when(beerService.decrement(1L, 5)).thenThrow(new BeerStockExceededException(1L, 5));
+        BeerService proxiedBeerService = proxy(beerService);
+        //when
+        assertThrows(BeerStockExceededException.class, () -> proxiedBeerService.decrement(1L, 5));
+        assertThrows(BeerStockExceededException.class, () -> proxiedBeerService.decrement(1L, 5));
+        //then
+        assertThat(meterRegistry.get("beer.service.exceptions")
+                .tag("exception", "BeerStockExceededException").counter().count(), is(equalTo(2.0)));
+    }
+
+    @Test
+    void whenAnotherServiceThrowsThenItIsNotCounted() throws Exception {
+        //given
+        BeerExportService beerExportService = mock(BeerExportService.class);
+        doThrow(new IOException("client went away")).when(beerExportService).export(any(ExportFormat.class), any(OutputStream.class));
+        BeerExportService proxiedBeerExportService = proxy(beerExportService);
+        //when
+        assertThrows(IOException.class, () -> proxiedBeerExportService.export(ExportFormat.CSV, new ByteArrayOutputStream()));
+        //then
+        assertThat(meterRegistry.find("beer.service.exceptions").counter(), is(nullValue()));
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        return proxyFactory.getProxy();
+    }
+}
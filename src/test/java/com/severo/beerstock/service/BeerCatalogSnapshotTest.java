@@ -0,0 +1,171 @@
+package com.severo.beerstock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.repository.BeerChangeRepository;
+import com.severo.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BeerCatalogSnapshotTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private BeerChangeRepository beerChangeRepository;
+
+    @Mock
+    private BeerChangeService beerChangeService;
+
+    @Mock
+    private HotStockEngine hotStockEngine;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BeerCatalogSnapshot beerCatalogSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        beerCatalogSnapshot = new BeerCatalogSnapshot(beerRepository, beerChangeRepository, beerChangeService,
+                hotStockEngine, objectMapper, transactionManager, true);
+        when(beerChangeService.committedWatermark()).thenReturn(3L);
+        when(hotStockEngine.modificationCount()).thenReturn(0L);
+        when(beerRepository.streamAll()).thenReturn(Stream.of(newBeer(2L, "Bohemia", 20), newBeer(1L, "Brahma", 10)));
+        beerCatalogSnapshot.load();
+    }
+
+    @Test
+    void whenCatalogIsLoadedThenBeersAreServedInIdOrder() throws IOException {
+        //when
+        BeerCatalogSnapshot.Snapshot snapshot = beerCatalogSnapshot.current();
+        //then
+        assertThat(names(snapshot.getJson()), contains("Brahma", "Bohemia"));
+        assertThat(snapshot.getETag(), is(equalTo("\"3-0\"")));
+        assertThat(gunzip(snapshot.getGzip()), is(equalTo(snapshot.getJson())));
+    }
+
+    @Test
+    void whenNothingChangedThenTheSameSnapshotIsReturned() {
+        //when
+        BeerCatalogSnapshot.Snapshot first = beerCatalogSnapshot.current();
+        beerCatalogSnapshot.refresh();
+        BeerCatalogSnapshot.Snapshot second = beerCatalogSnapshot.current();
+        //then
+        assertThat(second, is(sameInstance(first)));
+        verify(beerChangeRepository, never()).findBeerIdsChangedBetween(3L, 3L);
+    }
+
+    @Test
+    void whenChangeLogMovesThenOnlyTheChangedBeersAreReloaded() throws IOException {
+        //given
+        List<Long> changedIds = Collections.singletonList(2L);
+        //when
+        when(beerChangeService.committedWatermark()).thenReturn(5L);
+        when(beerChangeRepository.findBeerIdsChangedBetween(3L, 5L)).thenReturn(changedIds);
+        when(beerRepository.findAllById(changedIds)).thenReturn(Collections.singletonList(newBeer(2L, "Bohemia Weiss", 15)));
+        beerCatalogSnapshot.refresh();
+        BeerCatalogSnapshot.Snapshot snapshot = beerCatalogSnapshot.current();
+        //then
+        assertThat(names(snapshot.getJson()), contains("Brahma", "Bohemia Weiss"));
+        assertThat(snapshot.getETag(), is(equalTo("\"5-0\"")));
+        assertThat(gunzip(snapshot.getGzip()), is(equalTo(snapshot.getJson())));
+    }
+
+    @Test
+    void whenCurrentIsCalledThenTheLatestSnapshotIsServedWithoutRefreshing() throws IOException {
+        //when
+        BeerCatalogSnapshot.Snapshot snapshot = beerCatalogSnapshot.current();
+        //then
+        assertThat(names(snapshot.getJson()), contains("Brahma", "Bohemia"));
+        verify(beerChangeService, times(1)).committedWatermark();
+        verifyNoInteractions(beerChangeRepository);
+    }
+
+    @Test
+    void whenBeersSpanSeveralChunksThenTheGzipFormJoinsThem() throws IOException {
+        //given
+        List<Long> changedIds = Arrays.asList(1L, 300L, 1000L);
+        //when
+        when(beerChangeService.committedWatermark()).thenReturn(6L);
+        when(beerChangeRepository.findBeerIdsChangedBetween(3L, 6L)).thenReturn(changedIds);
+        when(beerRepository.findAllById(anyList()))
+                .thenReturn(Arrays.asList(newBeer(300L, "Skol", 5), newBeer(1000L, "Stella", 7)));
+        beerCatalogSnapshot.refresh();
+        BeerCatalogSnapshot.Snapshot snapshot = beerCatalogSnapshot.current();
+        //then
+        assertThat(names(snapshot.getJson()), contains("Bohemia", "Skol", "Stella"));
+        assertThat(gunzip(snapshot.getGzip()), is(equalTo(snapshot.getJson())));
+    }
+
+    @Test
+    void whenChangedBeerIsGoneThenItIsDroppedFromTheCatalog() throws IOException {
+        //given
+        List<Long> changedIds = Collections.singletonList(1L);
+        //when
+        when(beerChangeService.committedWatermark()).thenReturn(4L);
+        when(beerChangeRepository.findBeerIdsChangedBetween(3L, 4L)).thenReturn(changedIds);
+        when(beerRepository.findAllById(changedIds)).thenReturn(Collections.emptyList());
+        beerCatalogSnapshot.refresh();
+        BeerCatalogSnapshot.Snapshot snapshot = beerCatalogSnapshot.current();
+        //then
+        assertThat(names(snapshot.getJson()), contains("Bohemia"));
+        assertThat(gunzip(snapshot.getGzip()), is(equalTo(snapshot.getJson())));
+    }
+
+    private List<String> names(byte[] json) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (JsonNode beer : objectMapper.readTree(json)) {
+            names.add(beer.get("name").asText());
+        }
+        return names;
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return gzipStream.readAllBytes();
+        }
+    }
+
+    private static Beer newBeer(Long id, String name, int quantity) {
+        Beer beer = new Beer();
+        beer.setId(id);
+        beer.setName(name);
+        beer.setBrand("Ambev");
+        beer.setType(BeerType.LAGER);
+        beer.setMax(50);
+        beer.setQuantity(quantity);
+        return beer;
+    }
+}
@@ -0,0 +1,77 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.repository.BeerChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BeerChangeServiceTest {
+
+    private static final long VALID_BEER_ID = 1L;
+
+    @Mock
+    private BeerChangeRepository beerChangeRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BeerChangeService beerChangeService;
+
+    @BeforeEach
+    void setUp() {
+        when(beerChangeRepository.findMaxSeq()).thenReturn(10L);
+        beerChangeService.loadLastSeq();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void whenChangeIsRecordedThenWatermarkWaitsForItsTransaction() {
+        //given
+        assertThat(beerChangeService.committedWatermark(), is(equalTo(10L)));
+        //when
+        beerChangeService.record(VALID_BEER_ID, BeerChangeType.INCREMENTED, 5);
+        //then
+        assertThat(beerChangeService.committedWatermark(), is(equalTo(10L)));
+
+        completeTransaction();
+
+        assertThat(beerChangeService.committedWatermark(), is(equalTo(11L)));
+    }
+
+    @Test
+    void whenChangeIsRecordedOutsideATransactionThenAnExceptionShouldBeThrown() {
+        //given
+        TransactionSynchronizationManager.clearSynchronization();
+        //then
+        assertThrows(IllegalStateException.class, () -> beerChangeService.record(VALID_BEER_ID, BeerChangeType.INCREMENTED, 5));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private void completeTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
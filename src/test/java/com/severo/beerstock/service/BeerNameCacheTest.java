@@ -0,0 +1,79 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.config.CacheConfig;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class BeerNameCacheTest {
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.BEERS_BY_NAME_CACHE);
+    private final BeerNameCache beerNameCache = new BeerNameCache(cacheManager);
+
+    @Test
+    void whenBeerIsLoadedThenItIsServedFromTheCache() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerNameCache.get("Brahma", () -> beerDTO);
+        //when
+        BeerDTO cachedBeerDTO = beerNameCache.get(" BRAHMA ", () -> {
+            throw new IllegalStateException("should have been cached");
+        });
+        //then
+        assertThat(cachedBeerDTO, is(equalTo(beerDTO)));
+    }
+
+    @Test
+    void whenWriteCommitsDuringALoadThenTheLoadedBeerIsNotCached() throws Exception {
+        //given
+        BeerDTO staleBeerDTO = BeerDTOBuilder.builder().quantity(10).build().toBeerDTO();
+        BeerDTO freshBeerDTO = BeerDTOBuilder.builder().quantity(15).build().toBeerDTO();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        CompletableFuture<BeerDTO> staleRead = CompletableFuture.supplyAsync(() -> beerNameCache.get("Brahma", () -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            return staleBeerDTO;
+        }));
+        loadStarted.await(5, TimeUnit.SECONDS);
+        //when
+        beerNameCache.invalidate("Brahma");
+        releaseLoad.countDown();
+        staleRead.get(5, TimeUnit.SECONDS);
+        //then
+        assertThat(cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE).get("brahma"), is(nullValue()));
+        assertThat(beerNameCache.get("Brahma", () -> freshBeerDTO), is(equalTo(freshBeerDTO)));
+    }
+
+    @Test
+    void whenEverythingIsInvalidatedThenEveryBeerIsReloaded() {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerNameCache.get("Brahma", () -> beerDTO);
+        assertThat(cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE).get("brahma"), is(notNullValue()));
+        //when
+        beerNameCache.invalidateAll();
+        //then
+        assertThat(cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE).get("brahma"), is(nullValue()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
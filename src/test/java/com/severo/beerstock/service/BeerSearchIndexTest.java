@@ -0,0 +1,114 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerSearchResultDTO;
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BeerSearchIndexTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BeerSearchIndex beerSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        beerSearchIndex = new BeerSearchIndex(beerRepository, transactionManager);
+        beerSearchIndex.add(newBeer(1L, "Brahma Chopp", "Ambev", BeerType.LAGER));
+        beerSearchIndex.add(newBeer(2L, "Bohemia Weiss", "Ambev", BeerType.WITBIER));
+        beerSearchIndex.add(newBeer(3L, "Colorado Appia", "Cervejaria Colorado", BeerType.WITBIER));
+        beerSearchIndex.add(newBeer(4L, "Brahma", "Ambev", BeerType.LAGER));
+    }
+
+    @Test
+    void whenPrefixIsSearchedThenBeersAreRankedByMatchQuality() {
+        //when
+        List<BeerSearchResultDTO> results = beerSearchIndex.search("brah", null, 10);
+        //then
+        assertThat(names(results), contains("Brahma", "Brahma Chopp"));
+    }
+
+    @Test
+    void whenNameMatchesThenItRanksAboveBrandMatch() {
+        //when
+        List<BeerSearchResultDTO> results = beerSearchIndex.search("colorado", null, 10);
+        //then
+        assertThat(names(results), contains("Colorado Appia"));
+        assertThat(results.get(0).getScore(), is(4));
+    }
+
+    @Test
+    void whenEveryWordMustMatchThenOnlyBeersMatchingAllAreReturned() {
+        //when
+        List<BeerSearchResultDTO> results = beerSearchIndex.search("ambev boh", null, 10);
+        //then
+        assertThat(names(results), contains("Bohemia Weiss"));
+    }
+
+    @Test
+    void whenTypeAndLimitAreInformedThenResultsAreFilteredAndLimited() {
+        //when
+        List<BeerSearchResultDTO> results = beerSearchIndex.search("a", BeerType.WITBIER, 1);
+        //then
+        assertThat(results, hasSize(1));
+        assertThat(results.get(0).getType(), is(BeerType.WITBIER));
+    }
+
+    @Test
+    void whenAccentedQueryIsSearchedThenAccentsAreIgnored() {
+        //when
+        List<BeerSearchResultDTO> results = beerSearchIndex.search("BOHÊM", null, 10);
+        //then
+        assertThat(names(results), contains("Bohemia Weiss"));
+    }
+
+    @Test
+    void whenBeerIsDeletedOrCreatedThenTheIndexFollows() {
+        //given
+        Beer createdBeer = newBeer(5L, "Skol Beats", "Ambev", BeerType.LAGER);
+        //when
+        when(beerRepository.findById(5L)).thenReturn(Optional.of(createdBeer));
+        beerSearchIndex.onStockChanged(BeerStockEventDTO.builder().id(1L).change(BeerChangeType.DELETED).build());
+        beerSearchIndex.onStockChanged(BeerStockEventDTO.builder().id(5L).change(BeerChangeType.CREATED).build());
+        //then
+        assertThat(names(beerSearchIndex.search("chopp", null, 10)), empty());
+        assertThat(names(beerSearchIndex.search("skol", null, 10)), contains("Skol Beats"));
+    }
+
+    private static List<String> names(List<BeerSearchResultDTO> results) {
+        return results.stream().map(BeerSearchResultDTO::getName).collect(Collectors.toList());
+    }
+
+    private static Beer newBeer(Long id, String name, String brand, BeerType type) {
+        Beer beer = new Beer();
+        beer.setId(id);
+        beer.setName(name);
+        beer.setBrand(brand);
+        beer.setType(type);
+        return beer;
+    }
+}
@@ -0,0 +1,151 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.config.CacheConfig;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.StockAdjustmentDTO;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import com.severo.beerstock.utils.BeerNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BeerServiceCacheTest {
+
+    private static final int READERS = 4;
+    private static final int WRITES = 200;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+        beersByNameCache().clear();
+    }
+
+    @Test
+    void whenBeerIsReadThenItIsServedFromTheCache() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(newBeerDTO());
+        beersByNameCache().clear();
+        //when
+        BeerDTO foundBeerDTO = beerService.findByName(createdBeerDTO.getName());
+        //then
+        Cache.ValueWrapper cachedValue = beersByNameCache().get(BeerNames.normalize(createdBeerDTO.getName()));
+        assertThat(cachedValue, is(notNullValue()));
+        assertThat(cachedValue.get(), is(equalTo(foundBeerDTO)));
+    }
+
+    @Test
+    void whenStockChangesThenCachedReadsAreNeverStale() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(newBeerDTO());
+        String name = createdBeerDTO.getName();
+        Long id = createdBeerDTO.getId();
+        beerService.findByName(name);
+        //when
+        beerService.increment(id, 5);
+        //then
+        assertThat(beerService.findByName(name).getQuantity(), is(equalTo(createdBeerDTO.getQuantity() + 5)));
+
+        beerService.decrement(id, 8);
+        assertThat(beerService.findByName(name).getQuantity(), is(equalTo(createdBeerDTO.getQuantity() - 3)));
+
+        beerService.adjustStock(Collections.singletonList(new StockAdjustmentDTO(id, 2)));
+        assertThat(beerService.findByName(name).getQuantity(), is(equalTo(createdBeerDTO.getQuantity() - 1)));
+
+        beerService.deleteById(id);
+        assertThat(beersByNameCache().get(BeerNames.normalize(name)), is(nullValue()));
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName(name));
+    }
+
+    @Test
+    void whenReadsRaceWithWritesThenTheCacheEndsUpWithTheCommittedQuantity() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(BeerDTOBuilder.builder().id(null).quantity(0).max(1000).build().toBeerDTO());
+        String name = createdBeerDTO.getName();
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        //when
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        beerService.findByName(name);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < WRITES; i++) {
+                    beerService.increment(createdBeerDTO.getId(), 1);
+                }
+                writing.set(false);
+                return null;
+            });
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+        //then
+        assertThat(beerService.findByName(name).getQuantity(), is(equalTo(WRITES)));
+    }
+
+    @Test
+    void whenBeerIsReadWithAnotherSpellingThenTheSameCacheEntryIsUsed() throws Exception {
+        //given
+        BeerDTO createdBeerDTO = beerService.createBeer(newBeerDTO());
+        beersByNameCache().clear();
+        beerService.findByName(createdBeerDTO.getName());
+        //when
+        BeerDTO foundBeerDTO = beerService.findByName(" " + createdBeerDTO.getName().toUpperCase() + " ");
+        //then
+        assertThat(foundBeerDTO.getId(), is(equalTo(createdBeerDTO.getId())));
+        assertThat(beersByNameCache().get(BeerNames.normalize(createdBeerDTO.getName())).get(), is(equalTo(foundBeerDTO)));
+        assertThat(beersByNameCache().get(" " + createdBeerDTO.getName().toUpperCase() + " "), is(nullValue()));
+    }
+
+    private BeerDTO newBeerDTO() {
+        return BeerDTOBuilder.builder()
+                .id(null)
+                .build()
+                .toBeerDTO();
+    }
+
+    private Cache beersByNameCache() {
+        return cacheManager.getCache(CacheConfig.BEERS_BY_NAME_CACHE);
+    }
+}
@@ -0,0 +1,125 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.mapper.BeerMapper;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest
+class BeerServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    private BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @AfterEach
+    void tearDown() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenConcurrentDecrementsAreCalledThenNoUpdateIsLost() throws Exception {
+        //given
+        int initialQuantity = 100;
+        Long beerId = saveBeer(initialQuantity, 500);
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        //when
+        runConcurrently(THREADS, () -> {
+            try {
+                beerService.decrement(beerId, 1);
+                applied.incrementAndGet();
+            } catch (BeerStockExceededException e) {
+                rejected.incrementAndGet();
+            }
+        });
+        //then
+        assertThat(applied.get(), equalTo(initialQuantity));
+        assertThat(rejected.get(), equalTo(THREADS * OPERATIONS_PER_THREAD - initialQuantity));
+        assertThat(beerRepository.findById(beerId).get().getQuantity(), equalTo(0));
+    }
+
+    @Test
+    void whenConcurrentIncrementsAndDecrementsAreCalledThenFinalQuantityIsConsistent() throws Exception {
+        //given
+        int initialQuantity = 100;
+        Long beerId = saveBeer(initialQuantity, 500);
+        AtomicInteger counter = new AtomicInteger();
+        //when
+        runConcurrently(THREADS, () -> {
+            if (counter.getAndIncrement() % 2 == 0) {
+                beerService.increment(beerId, 2);
+            } else {
+                beerService.decrement(beerId, 1);
+            }
+        });
+        //then
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        int expectedQuantity = initialQuantity + (operations / 2) * 2 - (operations / 2);
+        Beer updatedBeer = beerRepository.findById(beerId).get();
+        assertThat(updatedBeer.getQuantity(), equalTo(expectedQuantity));
+        assertThat(updatedBeer.getVersion(), equalTo((long) operations));
+    }
+
+    private Long saveBeer(int quantity, int max) {
+        Beer beer = beerMapper.toModel(BeerDTOBuilder.builder()
+                .id(null)
+                .quantity(quantity)
+                .max(max)
+                .build()
+                .toBeerDTO());
+        return beerRepository.save(beer).getId();
+    }
+
+    private void runConcurrently(int threads, StockOperation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    operation.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface StockOperation {
+        void run() throws Exception;
+    }
+}
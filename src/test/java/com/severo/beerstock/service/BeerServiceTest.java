@@ -1,20 +1,48 @@
 package com.severo.beerstock.service;
 
+import com.severo.beerstock.config.CacheConfig;
 import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerFilterDTO;
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.dto.BeerTypeStockDTO;
+import com.severo.beerstock.dto.StockAdjustmentDTO;
+import com.severo.beerstock.dto.StockAdjustmentResultDTO;
 import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.enums.StockAdjustmentStatus;
 import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
 import com.severo.beerstock.exception.BeerNotFoundException;
 import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.BeerVersionMismatchException;
 import com.severo.beerstock.mapper.BeerMapper;
 import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.repository.BeerTypeStockRepository;
 import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import com.severo.beerstock.utils.BeerNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,8 +59,29 @@ class BeerServiceTest {
     @Mock
     private BeerRepository beerRepository;
 
+    @Mock
+    private HotStockEngine hotStockEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BeerChangeService beerChangeService;
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private BeerTypeStockRepository beerTypeStockRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private BeerMapper beerMapper = BeerMapper.INSTANCE;
 
+    @Spy
+    private BeerNameCache beerNameCache = new BeerNameCache(new ConcurrentMapCacheManager(CacheConfig.BEERS_BY_NAME_CACHE));
+
     @InjectMocks
     private BeerService beerService;
 
@@ -42,8 +91,7 @@ class BeerServiceTest {
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer beerExpected = beerMapper.toModel(expectedBeerDTO);
         //when
-        when(beerRepository.findByName(expectedBeerDTO.getName())).thenReturn(Optional.empty());
-        when(beerRepository.save(beerExpected)).thenReturn(beerExpected);
+        when(beerRepository.saveAndFlush(beerExpected)).thenReturn(beerExpected);
         //then
         BeerDTO beerCreated = beerService.createBeer(expectedBeerDTO);
 
@@ -52,65 +100,161 @@ class BeerServiceTest {
         assertThat(beerCreated.getQuantity(), is(equalTo(expectedBeerDTO.getQuantity())));
 
         assertThat(beerCreated.getQuantity(), is(greaterThan(2)));
+        verify(beerRepository, never()).findByNameKey(BeerNames.normalize(expectedBeerDTO.getName()));
     }
 
     @Test
-    void whenAlreadyRegisteredBeerInformedThenAnExceptionShouldBeThrown() throws BeerAlreadyRegisteredException {
+    void whenAlreadyRegisteredBeerInformedThenAnExceptionShouldBeThrown() {
         //given
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer beerDuplicated = beerMapper.toModel(expectedBeerDTO);
         //when
-        when(beerRepository.findByName(expectedBeerDTO.getName())).thenReturn(Optional.of(beerDuplicated));
+        when(beerRepository.saveAndFlush(beerDuplicated)).thenThrow(nameUniqueViolation());
         //then
         assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeer(expectedBeerDTO));
     }
 
+    @Test
+    void whenOtherIntegrityViolationHappensOnCreationThenItIsNotReportedAsAlreadyRegistered() {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        Beer beerToSave = beerMapper.toModel(expectedBeerDTO);
+        //when
+        when(beerRepository.saveAndFlush(beerToSave)).thenThrow(new DataIntegrityViolationException("value too long"));
+        //then
+        assertThrows(DataIntegrityViolationException.class, () -> beerService.createBeer(expectedBeerDTO));
+    }
+
+    @Test
+    void whenBeersInformedThenTheyShouldBeCreatedInBatch() throws BeerAlreadyRegisteredException {
+        //given
+        BeerDTO firstBeerDTO = getBeerDTO();
+        BeerDTO secondBeerDTO = BeerDTOBuilder.builder().id(2L).name("Skol").build().toBeerDTO();
+        List<Beer> expectedBeers = Arrays.asList(beerMapper.toModel(firstBeerDTO), beerMapper.toModel(secondBeerDTO));
+        //when
+        when(beerRepository.saveAll(expectedBeers)).thenReturn(expectedBeers);
+        //then
+        List<BeerDTO> createdBeers = beerService.createBeers(Arrays.asList(firstBeerDTO, secondBeerDTO));
+
+        assertThat(createdBeers, contains(firstBeerDTO, secondBeerDTO));
+        verify(beerRepository, times(1)).flush();
+    }
+
+    @Test
+    void whenBatchContainsRepeatedNamesThenAnExceptionShouldBeThrown() {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        BeerDTO repeatedBeerDTO = BeerDTOBuilder.builder().id(2L).build().toBeerDTO();
+        //when
+        //then
+        assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeers(Arrays.asList(beerDTO, repeatedBeerDTO)));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void whenBatchContainsNamesDifferingOnlyInCaseThenAnExceptionShouldBeThrown() {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        BeerDTO sameNameBeerDTO = BeerDTOBuilder.builder().id(2L).name("brahma ").build().toBeerDTO();
+        //when
+        //then
+        assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeers(Arrays.asList(beerDTO, sameNameBeerDTO)));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void whenBatchContainsAlreadyRegisteredBeerThenAnExceptionShouldBeThrown() {
+        //given
+        BeerDTO beerDTO = getBeerDTO();
+        //when
+        when(beerRepository.saveAll(Collections.singletonList(beerMapper.toModel(beerDTO)))).thenReturn(Collections.emptyList());
+        doThrow(nameUniqueViolation()).when(beerRepository).flush();
+        //then
+        assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeers(Collections.singletonList(beerDTO)));
+    }
+
     @Test
     void whenValidBeerNameIsGivenThenReturnABeer() throws BeerNotFoundException {
         //given
         BeerDTO expectedFoundBeerDTO = getBeerDTO();
         Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
         //when
-        when(beerRepository.findByName(expectedFoundBeerDTO.getName())).thenReturn(Optional.of(expectedFoundBeer));
+        when(beerRepository.findByNameKey("brahma")).thenReturn(Optional.of(expectedFoundBeer));
         //then
         BeerDTO foundBeerDTO = beerService.findByName(expectedFoundBeerDTO.getName());
 
         assertThat(foundBeerDTO, is(equalTo(expectedFoundBeerDTO)));
     }
 
+    @Test
+    void whenBeerNameIsGivenWithOtherCaseSpacesOrAccentsThenTheSameBeerIsReturned() throws BeerNotFoundException {
+        //given
+        BeerDTO expectedFoundBeerDTO = getBeerDTO();
+        Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+        //when
+        when(beerRepository.findByNameKey("brahma")).thenReturn(Optional.of(expectedFoundBeer));
+        //then
+        BeerDTO foundBeerDTO = beerService.findByName("  BRAHMÁ ");
+
+        assertThat(foundBeerDTO, is(equalTo(expectedFoundBeerDTO)));
+    }
+
     @Test
     void whenNotRegisteredBeerNameIsGivenThenThrowAnException() {
         //given
         BeerDTO expectedFoundBeerDTO = getBeerDTO();
         //when
-        when(beerRepository.findByName(expectedFoundBeerDTO.getName())).thenReturn(Optional.empty());
+        when(beerRepository.findByNameKey("brahma")).thenReturn(Optional.empty());
         //then
         assertThrows(BeerNotFoundException.class, () -> beerService.findByName(expectedFoundBeerDTO.getName()));
     }
 
     @Test
-    void whenListBeerIsCalledThenReturnAListOfBeers() {
+    void whenListBeerIsCalledThenReturnAPageOfBeers() {
         //given
         BeerDTO expectedFoundBeerDTO = getBeerDTO();
         Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("id"));
         //when
-        when((beerRepository.findAll())).thenReturn(Collections.singletonList(expectedFoundBeer));
+        when(beerRepository.findAll(ArgumentMatchers.<Specification<Beer>>any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(expectedFoundBeer), pageable, 1));
         //then
-        List<BeerDTO> foundListBeerDTO = beerService.listAll();
+        Page<BeerDTO> foundPageBeerDTO = beerService.listAll(new BeerFilterDTO(), pageable);
 
-        assertThat(foundListBeerDTO, is(not(empty())));
-        assertThat(foundListBeerDTO.get(0), is(equalTo(expectedFoundBeerDTO)));
+        assertThat(foundPageBeerDTO.getContent(), is(not(empty())));
+        assertThat(foundPageBeerDTO.getContent().get(0), is(equalTo(expectedFoundBeerDTO)));
+        assertThat(foundPageBeerDTO.getTotalElements(), is(equalTo(1L)));
     }
 
     @Test
-    void whenListBeerIsCalledThenReturnAnEmptyListOfBeers() {
+    void whenListBeerIsCalledThenReturnAnEmptyPageOfBeers() {
         //given
+        Pageable pageable = PageRequest.of(0, 20);
+        BeerFilterDTO filter = BeerFilterDTO.builder()
+                .type(BeerType.IPA)
+                .lowStockThreshold(5)
+                .build();
         //when
-        when((beerRepository.findAll())).thenReturn(Collections.EMPTY_LIST);
+        when(beerRepository.findAll(ArgumentMatchers.<Specification<Beer>>any(), eq(pageable)))
+                .thenReturn(Page.empty(pageable));
         //then
-        List<BeerDTO> foundListBeerDTO = beerService.listAll();
+        Page<BeerDTO> foundPageBeerDTO = beerService.listAll(filter, pageable);
 
-        assertThat(foundListBeerDTO, is(empty()));
+        assertThat(foundPageBeerDTO.getContent(), is(empty()));
+    }
+
+    @Test
+    void whenListLowStockIsCalledThenReturnBeersBelowTheirThreshold() {
+        //given
+        BeerDTO expectedLowStockBeerDTO = BeerDTOBuilder.builder().quantity(3).reorderThreshold(5).build().toBeerDTO();
+        Beer expectedLowStockBeer = beerMapper.toModel(expectedLowStockBeerDTO);
+        Pageable pageable = PageRequest.of(0, 20);
+        //when
+        when(beerRepository.findByLowStockTrue(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(expectedLowStockBeer)));
+        //then
+        Page<BeerDTO> foundLowStockBeers = beerService.listLowStock(pageable);
+
+        assertThat(foundLowStockBeers.getContent(), contains(expectedLowStockBeerDTO));
     }
 
     @Test
@@ -124,83 +268,177 @@ class BeerServiceTest {
         //then
         beerService.deleteById(expectedDeletedBeerDTO.getId());
         verify(beerRepository, times(1)).findById(expectedDeletedBeerDTO.getId());
+        verify(locationService, times(1)).removeBeer(expectedDeletedBeerDTO.getId());
         verify(beerRepository, times(1)).deleteById(expectedDeletedBeerDTO.getId());
     }
 
+    @Test
+    void whenStockByTypeIsCalledThenTheMaintainedTotalsAreReturned() {
+        //given
+        BeerTypeStockDTO expectedTypeStock = new BeerTypeStockDTO(BeerType.LAGER, 42L);
+        //when
+        when(beerTypeStockRepository.findAllStock()).thenReturn(Collections.singletonList(expectedTypeStock));
+        //then
+        List<BeerTypeStockDTO> foundTypeStock = beerService.listStockByType();
+
+        assertThat(foundTypeStock, contains(expectedTypeStock));
+    }
+
     //TDD
     @Test
     void whenIncrementIsCalledThenIncrementBeersStock() throws BeerNotFoundException, BeerStockExceededException {
         //given
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
-        //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
-        //then
         int quantityToIncrement = 10;
         int expectedQuantityAfterIncrement = expectedBeerDTO.getQuantity() + quantityToIncrement;
+        expectedBeer.setQuantity(expectedQuantityAfterIncrement);
+        //when
+        when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Optional.of(expectedBeer));
         //then
         BeerDTO incrementedBeerDTO = beerService.increment(expectedBeerDTO.getId(), quantityToIncrement);
 
         assertThat(expectedQuantityAfterIncrement, equalTo(incrementedBeerDTO.getQuantity()));
         assertThat(expectedQuantityAfterIncrement, lessThan(expectedBeerDTO.getMax()));
+        verify(beerRepository, never()).save(expectedBeer);
+        verify(beerRepository, never()).findById(expectedBeerDTO.getId());
+        verify(eventPublisher).publishEvent(BeerStockEventDTO.builder()
+                .id(expectedBeerDTO.getId())
+                .name(expectedBeerDTO.getName())
+                .quantity(expectedQuantityAfterIncrement)
+                .delta(quantityToIncrement)
+                .reorderThreshold(expectedBeerDTO.getReorderThreshold())
+                .change(BeerChangeType.INCREMENTED)
+                .build());
     }
 
     //TDD
     @Test
-    void whenIncrementIsGreatherThanMaxThenThrowException() throws BeerNotFoundException, BeerStockExceededException {
+    void whenIncrementIsGreatherThanMaxThenThrowException() {
         //given
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityToIncrement = 80;
         //when
+        when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Optional.empty());
         when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         //then
-        int quantityToIncrement = 80;
-        //then
         assertThrows(BeerStockExceededException.class, () -> beerService.increment(expectedBeerDTO.getId(), quantityToIncrement));
     }
 
+    @Test
+    void whenIncrementIsCalledForHotBeerThenInMemoryCounterIsUsed() throws BeerNotFoundException, BeerStockExceededException {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        int quantityToIncrement = 10;
+        //when
+        when(hotStockEngine.isHot(expectedBeerDTO.getId())).thenReturn(true);
+        when(hotStockEngine.apply(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(expectedBeerDTO);
+        //then
+        BeerDTO incrementedBeerDTO = beerService.increment(expectedBeerDTO.getId(), quantityToIncrement);
+
+        assertThat(incrementedBeerDTO, is(equalTo(expectedBeerDTO)));
+        verify(beerRepository, never()).incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement);
+    }
+
     //TDD
     @Test
-    void whenIncrementAfterSumIsGreatherThanMaxThenThrowException() throws BeerNotFoundException, BeerStockExceededException {
+    void whenIncrementAfterSumIsGreatherThanMaxThenThrowException() {
         //given
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityToIncrement = 45;
         //when
+        when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Optional.empty());
         when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         //then
-        int quantityToIncrement = 45;
-        //then
         assertThrows(BeerStockExceededException.class, () -> beerService.increment(expectedBeerDTO.getId(), quantityToIncrement));
     }
 
     //TDD
     @Test
-    void whenIncrementIsCalledWithInvalidIdThenThrowException() throws BeerNotFoundException, BeerStockExceededException {
+    void whenIncrementIsCalledWithInvalidIdThenThrowException() {
         //given
-        //when
         int quantityToIncrement = 10;
+        //when
+        when(beerRepository.incrementQuantity(INVALID_BEER_ID, quantityToIncrement)).thenReturn(Optional.empty());
         when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
         //then
         assertThrows(BeerNotFoundException.class, () -> beerService.increment(INVALID_BEER_ID, quantityToIncrement));
     }
 
-    //TDD
     @Test
-    void whenDecrementIsCalledThenDecrementBeerStock() throws BeerNotFoundException, BeerStockExceededException {
+    void whenIncrementIfMatchIsCalledWithCurrentVersionThenIncrementBeerStock()
+            throws BeerNotFoundException, BeerStockExceededException, BeerVersionMismatchException {
+        //given
+        BeerDTO expectedBeerDTO = BeerDTOBuilder.builder().version(3L).build().toBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityToIncrement = 10;
+        expectedBeer.setQuantity(expectedBeerDTO.getQuantity() + quantityToIncrement);
+        expectedBeer.setVersion(4L);
+        //when
+        when(beerRepository.incrementQuantityIfVersion(expectedBeerDTO.getId(), quantityToIncrement, 3L)).thenReturn(Optional.of(expectedBeer));
+        //then
+        BeerDTO incrementedBeerDTO = beerService.incrementIfMatch(expectedBeerDTO.getId(), quantityToIncrement, 3L);
+
+        assertThat(incrementedBeerDTO.getQuantity(), equalTo(expectedBeer.getQuantity()));
+        assertThat(incrementedBeerDTO.getVersion(), equalTo(4L));
+        verify(beerChangeService).record(expectedBeerDTO.getId(), BeerChangeType.INCREMENTED, quantityToIncrement);
+    }
+
+    @Test
+    void whenIncrementIfMatchIsCalledWithStaleVersionThenThrowException() {
         //given
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        expectedBeer.setVersion(4L);
+        int quantityToIncrement = 10;
         //when
+        when(beerRepository.incrementQuantityIfVersion(expectedBeerDTO.getId(), quantityToIncrement, 3L)).thenReturn(Optional.empty());
         when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
         //then
+        assertThrows(BeerVersionMismatchException.class, () -> beerService.incrementIfMatch(expectedBeerDTO.getId(), quantityToIncrement, 3L));
+        verifyNoInteractions(beerChangeService, eventPublisher);
+    }
+
+    @Test
+    void whenDecrementIfMatchIsCalledForHotBeerThenThrowException() throws Exception {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        int quantityToDecrement = 5;
+        //when
+        when(hotStockEngine.isHot(expectedBeerDTO.getId())).thenReturn(true);
+        //then
+        assertThrows(BeerVersionMismatchException.class, () -> beerService.decrementIfMatch(expectedBeerDTO.getId(), quantityToDecrement, 3L));
+        verify(hotStockEngine, never()).apply(expectedBeerDTO.getId(), -quantityToDecrement);
+    }
+
+    @Test
+    void whenCatalogVersionIsCalledThenItCombinesCommittedAndInMemoryChanges() {
+        //when
+        when(beerChangeService.committedWatermark()).thenReturn(42L);
+        when(hotStockEngine.modificationCount()).thenReturn(7L);
+        //then
+        assertThat(beerService.catalogVersion(), equalTo("42-7"));
+    }
+
+    //TDD
+    @Test
+    void whenDecrementIsCalledThenDecrementBeerStock() throws BeerNotFoundException, BeerStockExceededException {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
         int quantityDecrement = 5;
         int expectedQuantityAfterDecrement = expectedBeerDTO.getQuantity() - quantityDecrement;
+        expectedBeer.setQuantity(expectedQuantityAfterDecrement);
+        //when
+        when(beerRepository.decrementQuantity(expectedBeerDTO.getId(), quantityDecrement)).thenReturn(Optional.of(expectedBeer));
+        //then
         BeerDTO decrementBeerDTO = beerService.decrement(expectedBeerDTO.getId(), quantityDecrement);
 
         assertThat(expectedQuantityAfterDecrement, equalTo(decrementBeerDTO.getQuantity()));
         assertThat(expectedQuantityAfterDecrement, greaterThan(0));
+        verify(beerRepository, never()).save(expectedBeer);
     }
 
     @Test
@@ -208,12 +446,12 @@ class BeerServiceTest {
         //given
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
-        //when
-        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
-        //then
         int quantityDecrement = 10;
         int expectedQuantityAfterDecrement = expectedBeerDTO.getQuantity() - quantityDecrement;
+        expectedBeer.setQuantity(expectedQuantityAfterDecrement);
+        //when
+        when(beerRepository.decrementQuantity(expectedBeerDTO.getId(), quantityDecrement)).thenReturn(Optional.of(expectedBeer));
+        //then
         BeerDTO decrementBeerDTO = beerService.decrement(expectedBeerDTO.getId(), quantityDecrement);
 
         assertThat(expectedQuantityAfterDecrement, equalTo(0));
@@ -226,24 +464,92 @@ class BeerServiceTest {
         //given
         BeerDTO expectedBeerDTO = getBeerDTO();
         Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityDecrement = 80;
         //when
+        when(beerRepository.decrementQuantity(expectedBeerDTO.getId(), quantityDecrement)).thenReturn(Optional.empty());
         when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Optional.of(expectedBeer));
         //then
-        int quantityDecrement = 80;
-        //then
         assertThrows(BeerStockExceededException.class, () -> beerService.decrement(expectedBeerDTO.getId(), quantityDecrement));
     }
 
     @Test
     void whenDecrementIsCalledWithInvalidIdThenThrowException() {
         //given
-        //when
         int quantityDecrement = 10;
+        //when
+        when(beerRepository.decrementQuantity(INVALID_BEER_ID, quantityDecrement)).thenReturn(Optional.empty());
         when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
         //then
         assertThrows(BeerNotFoundException.class, () -> beerService.decrement(INVALID_BEER_ID, quantityDecrement));
     }
 
+    @Test
+    void whenStockAdjustmentsAreInformedThenEachResultIsReported() {
+        //given
+        long existingBeerId = 1L;
+        long unknownBeerId = 99L;
+        List<StockAdjustmentDTO> adjustments = Arrays.asList(
+                new StockAdjustmentDTO(existingBeerId, 5),
+                new StockAdjustmentDTO(unknownBeerId, 5),
+                new StockAdjustmentDTO(existingBeerId, 100),
+                new StockAdjustmentDTO(existingBeerId, -100));
+        //when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0, 0, 0});
+        when(beerRepository.findIdsByIdIn(new HashSet<>(Arrays.asList(existingBeerId, unknownBeerId))))
+                .thenReturn(Collections.singletonList(existingBeerId));
+        //then
+        List<StockAdjustmentResultDTO> results = beerService.adjustStock(adjustments);
+
+        assertThat(results, hasSize(4));
+        assertThat(results.get(0).getStatus(), is(StockAdjustmentStatus.APPLIED));
+        assertThat(results.get(1).getStatus(), is(StockAdjustmentStatus.NOT_FOUND));
+        assertThat(results.get(2).getStatus(), is(StockAdjustmentStatus.EXCEEDS_MAX));
+        assertThat(results.get(3).getStatus(), is(StockAdjustmentStatus.BELOW_ZERO));
+    }
+
+    @Test
+    void whenAllStockAdjustmentsAreAppliedThenNoExistenceCheckIsMade() {
+        //given
+        List<StockAdjustmentDTO> adjustments = Collections.singletonList(new StockAdjustmentDTO(1L, -5));
+        //when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1});
+        //then
+        List<StockAdjustmentResultDTO> results = beerService.adjustStock(adjustments);
+
+        assertThat(results.get(0).getStatus(), is(StockAdjustmentStatus.APPLIED));
+        verify(beerRepository, never()).findIdsByIdIn(anyCollection());
+    }
+
+    @Test
+    void whenHotBeerStockIsAdjustedThenItGoesThroughTheInMemoryCounter() throws Exception {
+        //given
+        long hotBeerId = 1L;
+        long coldBeerId = 2L;
+        StockAdjustmentDTO coldAdjustment = new StockAdjustmentDTO(coldBeerId, 5);
+        List<StockAdjustmentDTO> adjustments = Arrays.asList(
+                new StockAdjustmentDTO(hotBeerId, 5),
+                coldAdjustment,
+                new StockAdjustmentDTO(hotBeerId, -100));
+        //when
+        when(hotStockEngine.isHot(hotBeerId)).thenReturn(true);
+        when(hotStockEngine.apply(hotBeerId, 5)).thenReturn(getBeerDTO());
+        when(hotStockEngine.apply(hotBeerId, -100)).thenThrow(new BeerStockExceededException(hotBeerId, 100));
+        when(beerRepository.adjustQuantities(Collections.singletonList(coldAdjustment))).thenReturn(new int[]{1});
+        //then
+        List<StockAdjustmentResultDTO> results = beerService.adjustStock(adjustments);
+
+        assertThat(results.get(0).getStatus(), is(StockAdjustmentStatus.APPLIED));
+        assertThat(results.get(1).getStatus(), is(StockAdjustmentStatus.APPLIED));
+        assertThat(results.get(2).getStatus(), is(StockAdjustmentStatus.BELOW_ZERO));
+        verify(beerChangeService).recordAll(BeerChangeType.ADJUSTED, Collections.singletonMap(coldBeerId, 5));
+    }
+
+    private DataIntegrityViolationException nameUniqueViolation() {
+        String constraintName = "PUBLIC." + Beer.NAME_UNIQUE_CONSTRAINT.toUpperCase() + "_INDEX_2 ON PUBLIC.BEER(NAME_KEY)";
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", null, constraintName));
+    }
+
     private BeerDTO getBeerDTO() {
         return BeerDTOBuilder.builder().build().toBeerDTO();
     }
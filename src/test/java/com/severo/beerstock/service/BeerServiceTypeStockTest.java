@@ -0,0 +1,95 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerTypeStockDTO;
+import com.severo.beerstock.enums.BeerType;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest
+class BeerServiceTypeStockTest {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerTypeStockFolder beerTypeStockFolder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long createdBeerId;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (createdBeerId != null) {
+            beerService.deleteById(createdBeerId);
+        }
+    }
+
+    @Test
+    void whenStockChangesThenTheTypeTotalFollows() throws Exception {
+        //given
+        long initialTypeStock = typeStock(BeerType.LAGER);
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).quantity(10).max(50).type(BeerType.LAGER).build().toBeerDTO();
+        createdBeerId = beerService.createBeer(beerDTO).getId();
+        //when
+        beerService.increment(createdBeerId, 15);
+        beerService.decrement(createdBeerId, 5);
+        //then
+        assertThat(typeStock(BeerType.LAGER), equalTo(initialTypeStock + 20));
+    }
+
+    @Test
+    void whenChangesAreFoldedThenTheTypeTotalDoesNotMove() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).quantity(10).max(50).type(BeerType.LAGER).build().toBeerDTO();
+        createdBeerId = beerService.createBeer(beerDTO).getId();
+        beerService.increment(createdBeerId, 4);
+        long typeStockBeforeFold = typeStock(BeerType.LAGER);
+        //when
+        beerTypeStockFolder.fold();
+        //then
+        assertThat(typeStock(BeerType.LAGER), equalTo(typeStockBeforeFold));
+    }
+
+    @Test
+    void whenBeerIsDeletedThenItsStockLeavesTheTypeTotal() throws Exception {
+        //given
+        long initialTypeStock = typeStock(BeerType.LAGER);
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).quantity(10).max(50).type(BeerType.LAGER).build().toBeerDTO();
+        Long beerId = beerService.createBeer(beerDTO).getId();
+        beerService.increment(beerId, 5);
+        //when
+        beerService.deleteById(beerId);
+        //then
+        assertThat(typeStock(BeerType.LAGER), equalTo(initialTypeStock));
+    }
+
+    @Test
+    void whenStockChangesThenTheStockGaugeReadsTheTypeTotals() throws Exception {
+        //given
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).quantity(10).max(50).type(BeerType.LAGER).build().toBeerDTO();
+        createdBeerId = beerService.createBeer(beerDTO).getId();
+        //when
+        beerService.increment(createdBeerId, 7);
+        //then
+        long totalStock = beerService.listStockByType().stream().mapToLong(BeerTypeStockDTO::getQuantity).sum();
+        assertThat(meterRegistry.get("beer.stock.units").gauge().value(), equalTo((double) totalStock));
+    }
+
+    private long typeStock(BeerType type) {
+        return beerService.listStockByType().stream()
+                .filter(stock -> stock.getType() == type)
+                .mapToLong(BeerTypeStockDTO::getQuantity)
+                .findFirst()
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,67 @@
+package com.severo.beerstock.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class HotStockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenSegmentIsReadThenDeltasAreSummedPerBeer() throws IOException {
+        //given
+        HotStockJournal journal = new HotStockJournal(directory, true);
+        journal.open(1);
+        //when
+        journal.sync(journal.append(1L, 10));
+        journal.sync(journal.append(2L, -3));
+        journal.sync(journal.append(1L, -4));
+        journal.close();
+        //then
+        Map<Long, Integer> deltas = journal.readSegment(1);
+
+        assertThat(deltas.get(1L), is(equalTo(6)));
+        assertThat(deltas.get(2L), is(equalTo(-3)));
+    }
+
+    @Test
+    void whenJournalIsRotatedThenNewRecordsGoToNextSegment() throws IOException {
+        //given
+        HotStockJournal journal = new HotStockJournal(directory, true);
+        journal.open(1);
+        journal.append(1L, 5);
+        //when
+        long sealedSegmentId = journal.rotate();
+        journal.append(1L, 7);
+        journal.close();
+        //then
+        assertThat(sealedSegmentId, is(equalTo(1L)));
+        assertThat(journal.listSegmentIds(), is(equalTo(Arrays.asList(1L, 2L))));
+        assertThat(journal.readSegment(1).get(1L), is(equalTo(5)));
+        assertThat(journal.readSegment(2).get(1L), is(equalTo(7)));
+    }
+
+    @Test
+    void whenLastRecordIsTornThenItIsIgnored() throws IOException {
+        //given
+        HotStockJournal journal = new HotStockJournal(directory, true);
+        journal.open(1);
+        journal.append(1L, 5);
+        journal.close();
+        //when
+        Files.write(directory.resolve("hot-stock-1.journal"), new byte[]{0, 0, 0}, StandardOpenOption.APPEND);
+        //then
+        assertThat(journal.readSegment(1), is(equalTo(Map.of(1L, 5))));
+    }
+}
@@ -0,0 +1,205 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.dto.LocationStockDTO;
+import com.severo.beerstock.dto.StockTransferDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.entity.Location;
+import com.severo.beerstock.entity.LocationStock;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.InvalidStockTransferException;
+import com.severo.beerstock.exception.LocationNotFoundException;
+import com.severo.beerstock.exception.LocationStockNotSupportedException;
+import com.severo.beerstock.mapper.BeerMapper;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.repository.LocationRepository;
+import com.severo.beerstock.repository.LocationStockRepository;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocationServiceTest {
+
+    private static final long VALID_BEER_ID = 1L;
+    private static final long BAR_ID = 10L;
+    private static final long WAREHOUSE_ID = 20L;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private LocationStockRepository locationStockRepository;
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private HotStockEngine hotStockEngine;
+
+    @Mock
+    private BeerChangeService beerChangeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BeerNameCache beerNameCache;
+
+    @InjectMocks
+    private LocationService locationService;
+
+    @Test
+    void whenIncrementIsCalledAtALocationThenLocationAndBeerTotalsAreUpdated() throws Exception {
+        //given
+        int quantityToIncrement = 5;
+        Beer beer = getBeer();
+        beer.setQuantity(beer.getQuantity() + quantityToIncrement);
+        beer.setAllocated(quantityToIncrement);
+        //when
+        when(locationRepository.findById(BAR_ID)).thenReturn(Optional.of(new Location(BAR_ID, "Bar", 0L)));
+        when(beerRepository.addAllocatedQuantity(VALID_BEER_ID, quantityToIncrement)).thenReturn(1);
+        when(locationStockRepository.findById(new LocationStock.Key(VALID_BEER_ID, BAR_ID))).thenReturn(Optional.empty());
+        when(beerRepository.findById(VALID_BEER_ID)).thenReturn(Optional.of(beer));
+        //then
+        LocationStockDTO locationStock = locationService.increment(VALID_BEER_ID, BAR_ID, quantityToIncrement);
+
+        assertThat(locationStock.getQuantity(), is(equalTo(quantityToIncrement)));
+        verify(locationStockRepository).save(new LocationStock(VALID_BEER_ID, BAR_ID, quantityToIncrement));
+        verify(locationRepository).addQuantity(BAR_ID, quantityToIncrement);
+        verify(beerChangeService).record(VALID_BEER_ID, BeerChangeType.INCREMENTED, quantityToIncrement);
+        verify(eventPublisher).publishEvent(BeerStockEventDTO.builder()
+                .id(VALID_BEER_ID)
+                .name(beer.getName())
+                .quantity(beer.getQuantity())
+                .delta(quantityToIncrement)
+                .reorderThreshold(beer.getReorderThreshold())
+                .change(BeerChangeType.INCREMENTED)
+                .build());
+    }
+
+    @Test
+    void whenDecrementIsCalledWithMoreThanTheLocationHoldsThenAnExceptionShouldBeThrown() {
+        //given
+        //when
+        when(locationRepository.findById(BAR_ID)).thenReturn(Optional.of(new Location(BAR_ID, "Bar", 3L)));
+        when(beerRepository.addAllocatedQuantity(VALID_BEER_ID, -5)).thenReturn(1);
+        when(locationStockRepository.findById(new LocationStock.Key(VALID_BEER_ID, BAR_ID)))
+                .thenReturn(Optional.of(new LocationStock(VALID_BEER_ID, BAR_ID, 3)));
+        //then
+        assertThrows(BeerStockExceededException.class, () -> locationService.decrement(VALID_BEER_ID, BAR_ID, 5));
+        verify(locationStockRepository, never()).save(ArgumentMatchers.<LocationStock>any());
+        verifyNoInteractions(beerChangeService);
+    }
+
+    @Test
+    void whenBeerStockIsKeptInMemoryThenLocationStockCannotChange() {
+        //given
+        //when
+        when(hotStockEngine.isHot(VALID_BEER_ID)).thenReturn(true);
+        //then
+        assertThrows(LocationStockNotSupportedException.class, () -> locationService.increment(VALID_BEER_ID, BAR_ID, 5));
+        verifyNoInteractions(locationStockRepository, beerRepository);
+    }
+
+    @Test
+    void whenLocationDoesNotExistThenAnExceptionShouldBeThrown() {
+        //given
+        //when
+        when(locationRepository.findById(BAR_ID)).thenReturn(Optional.empty());
+        //then
+        assertThrows(LocationNotFoundException.class, () -> locationService.increment(VALID_BEER_ID, BAR_ID, 5));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void whenStockIsTransferredBetweenLocationsThenBeerTotalsDoNotChange() throws Exception {
+        //given
+        StockTransferDTO transfer = new StockTransferDTO(WAREHOUSE_ID, BAR_ID, 4);
+        List<LocationStockDTO> expectedStock = Collections.singletonList(new LocationStockDTO(BAR_ID, "Bar", 4));
+        //when
+        when(locationRepository.findById(WAREHOUSE_ID)).thenReturn(Optional.of(new Location(WAREHOUSE_ID, "Warehouse", 4L)));
+        when(locationRepository.findById(BAR_ID)).thenReturn(Optional.of(new Location(BAR_ID, "Bar", 0L)));
+        when(beerRepository.allocateQuantity(VALID_BEER_ID, 0)).thenReturn(1);
+        when(locationStockRepository.findById(new LocationStock.Key(VALID_BEER_ID, WAREHOUSE_ID)))
+                .thenReturn(Optional.of(new LocationStock(VALID_BEER_ID, WAREHOUSE_ID, 4)));
+        when(locationStockRepository.findById(new LocationStock.Key(VALID_BEER_ID, BAR_ID))).thenReturn(Optional.empty());
+        when(locationStockRepository.findStockByBeerId(VALID_BEER_ID)).thenReturn(expectedStock);
+        //then
+        List<LocationStockDTO> locationStock = locationService.transfer(VALID_BEER_ID, transfer);
+
+        assertThat(locationStock, is(equalTo(expectedStock)));
+        verify(locationStockRepository).save(new LocationStock(VALID_BEER_ID, WAREHOUSE_ID, 0));
+        verify(locationStockRepository).save(new LocationStock(VALID_BEER_ID, BAR_ID, 4));
+        verify(locationRepository).addQuantity(WAREHOUSE_ID, -4);
+        verify(locationRepository).addQuantity(BAR_ID, 4);
+        verify(beerChangeService).record(VALID_BEER_ID, BeerChangeType.TRANSFERRED, 0);
+    }
+
+    @Test
+    void whenUnallocatedStockIsNotEnoughThenTransferToALocationShouldFail() throws Exception {
+        //given
+        StockTransferDTO transfer = new StockTransferDTO(null, BAR_ID, 4);
+        //when
+        when(locationRepository.findById(BAR_ID)).thenReturn(Optional.of(new Location(BAR_ID, "Bar", 0L)));
+        when(beerRepository.allocateQuantity(VALID_BEER_ID, 4)).thenReturn(0);
+        when(beerRepository.existsById(VALID_BEER_ID)).thenReturn(true);
+        //then
+        assertThrows(BeerStockExceededException.class, () -> locationService.transfer(VALID_BEER_ID, transfer));
+        verify(locationStockRepository, never()).save(ArgumentMatchers.<LocationStock>any());
+        verifyNoInteractions(beerChangeService);
+    }
+
+    @Test
+    void whenBeerDoesNotExistThenItsStockCannotBeTransferred() {
+        //given
+        StockTransferDTO transfer = new StockTransferDTO(BAR_ID, null, 4);
+        //when
+        when(locationRepository.findById(BAR_ID)).thenReturn(Optional.of(new Location(BAR_ID, "Bar", 4L)));
+        when(beerRepository.allocateQuantity(VALID_BEER_ID, -4)).thenReturn(0);
+        when(beerRepository.existsById(VALID_BEER_ID)).thenReturn(false);
+        //then
+        assertThrows(BeerNotFoundException.class, () -> locationService.transfer(VALID_BEER_ID, transfer));
+        verifyNoInteractions(locationStockRepository, beerChangeService);
+    }
+
+    @Test
+    void whenStockIsTransferredToTheSameLocationThenAnExceptionShouldBeThrown() {
+        //given
+        StockTransferDTO transfer = new StockTransferDTO(BAR_ID, BAR_ID, 4);
+        //when
+        //then
+        assertThrows(InvalidStockTransferException.class, () -> locationService.transfer(VALID_BEER_ID, transfer));
+        verifyNoInteractions(beerRepository);
+    }
+
+    @Test
+    void whenBeerDoesNotExistThenItsLocationStockCannotBeListed() {
+        //given
+        //when
+        when(beerRepository.existsById(VALID_BEER_ID)).thenReturn(false);
+        //then
+        assertThrows(BeerNotFoundException.class, () -> locationService.findStockByBeerId(VALID_BEER_ID));
+    }
+
+    private Beer getBeer() {
+        return BeerMapper.INSTANCE.toModel(BeerDTOBuilder.builder().id(VALID_BEER_ID).build().toBeerDTO());
+    }
+}
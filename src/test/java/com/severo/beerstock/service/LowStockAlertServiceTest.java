@@ -0,0 +1,92 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.dto.LowStockAlertDTO;
+import com.severo.beerstock.enums.BeerChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockAlertServiceTest {
+
+    private static final long BEER_ID = 1L;
+    private static final int REORDER_THRESHOLD = 10;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LowStockAlertService lowStockAlertService;
+
+    @BeforeEach
+    void setUp() {
+        lowStockAlertService = new LowStockAlertService(eventPublisher, new SimpleMeterRegistry(), 5, 0);
+    }
+
+    @Test
+    void whenDecrementCrossesTheThresholdThenAnAlertIsRaised() {
+        //when
+        lowStockAlertService.onStockChanged(stockEvent(9, -3, BeerChangeType.DECREMENTED));
+        //then
+        assertThat(lowStockAlertService.isAlertOpen(BEER_ID), is(true));
+        verify(eventPublisher).publishEvent(ArgumentMatchers.<LowStockAlertDTO>argThat(alert ->
+                alert.getId() == BEER_ID && alert.getQuantity() == 9 && alert.getReorderThreshold() == REORDER_THRESHOLD));
+    }
+
+    @Test
+    void whenStockBouncesAroundTheThresholdThenOnlyOneAlertIsRaised() {
+        //when
+        lowStockAlertService.onStockChanged(stockEvent(9, -3, BeerChangeType.DECREMENTED));
+        lowStockAlertService.onStockChanged(stockEvent(12, 3, BeerChangeType.INCREMENTED));
+        lowStockAlertService.onStockChanged(stockEvent(8, -4, BeerChangeType.DECREMENTED));
+        //then
+        verify(eventPublisher, times(1)).publishEvent(ArgumentMatchers.<LowStockAlertDTO>any());
+    }
+
+    @Test
+    void whenStockRecoversAboveTheMarginThenTheAlertIsRearmed() {
+        //when
+        lowStockAlertService.onStockChanged(stockEvent(9, -3, BeerChangeType.DECREMENTED));
+        lowStockAlertService.onStockChanged(stockEvent(20, 11, BeerChangeType.INCREMENTED));
+        //then
+        assertThat(lowStockAlertService.isAlertOpen(BEER_ID), is(false));
+
+        lowStockAlertService.onStockChanged(stockEvent(5, -15, BeerChangeType.DECREMENTED));
+        verify(eventPublisher, times(2)).publishEvent(ArgumentMatchers.<LowStockAlertDTO>any());
+    }
+
+    @Test
+    void whenBeerHasNoThresholdThenNoAlertIsRaised() {
+        //when
+        lowStockAlertService.onStockChanged(BeerStockEventDTO.builder()
+                .id(BEER_ID)
+                .name("Brahma")
+                .quantity(0)
+                .delta(-5)
+                .reorderThreshold(0)
+                .change(BeerChangeType.DECREMENTED)
+                .build());
+        //then
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private BeerStockEventDTO stockEvent(int quantity, int delta, BeerChangeType change) {
+        return BeerStockEventDTO.builder()
+                .id(BEER_ID)
+                .name("Brahma")
+                .quantity(quantity)
+                .delta(delta)
+                .reorderThreshold(REORDER_THRESHOLD)
+                .change(change)
+                .build();
+    }
+}
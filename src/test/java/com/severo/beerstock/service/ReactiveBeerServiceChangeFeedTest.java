@@ -0,0 +1,58 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.config.ReactiveConfig;
+import com.severo.beerstock.dto.BeerChangeDTO;
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest
+@ActiveProfiles(ReactiveConfig.REACTIVE_PROFILE)
+class ReactiveBeerServiceChangeFeedTest {
+
+    @Autowired
+    private ReactiveBeerService reactiveBeerService;
+
+    @Autowired
+    private BeerChangeService beerChangeService;
+
+    private Long createdBeerId;
+
+    @AfterEach
+    void tearDown() {
+        if (createdBeerId != null) {
+            reactiveBeerService.deleteById(createdBeerId).block();
+        }
+    }
+
+    @Test
+    void whenStockChangesThroughTheReactiveServiceThenTheChangesAreRecorded() {
+        //given
+        long since = beerChangeService.committedWatermark();
+        BeerDTO beerDTO = BeerDTOBuilder.builder().id(null).name("Reactive Lager").quantity(10).max(50).build().toBeerDTO();
+        createdBeerId = reactiveBeerService.createBeer(beerDTO).block().getId();
+        //when
+        reactiveBeerService.increment(createdBeerId, 15).block();
+        reactiveBeerService.decrement(createdBeerId, 5).block();
+        //then
+        List<BeerChangeType> changeTypes = beerChangeService.findChanges(since, BeerChangeService.MAX_CHANGES_LIMIT).getChanges().stream()
+                .filter(change -> createdBeerId.equals(change.getBeerId()))
+                .map(BeerChangeDTO::getChangeType)
+                .collect(Collectors.toList());
+        assertThat(changeTypes, contains(BeerChangeType.CREATED, BeerChangeType.INCREMENTED, BeerChangeType.DECREMENTED));
+        assertThat(reactiveBeerService.findByName("Reactive Lager").block().getQuantity(), is(equalTo(20)));
+    }
+}
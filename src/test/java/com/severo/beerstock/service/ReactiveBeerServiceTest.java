@@ -0,0 +1,200 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.BeerDTO;
+import com.severo.beerstock.dto.BeerStockEventDTO;
+import com.severo.beerstock.entity.Beer;
+import com.severo.beerstock.enums.BeerChangeType;
+import com.severo.beerstock.exception.BeerAlreadyRegisteredException;
+import com.severo.beerstock.exception.BeerNotFoundException;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.mapper.BeerMapper;
+import com.severo.beerstock.repository.ReactiveBeerRepository;
+import com.severo.beerstock.service.builder.BeerDTOBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBeerServiceTest {
+
+    private static final long INVALID_BEER_ID = 1L;
+
+    @Mock
+    private ReactiveBeerRepository beerRepository;
+
+    @Mock
+    private BeerService blockingBeerService;
+
+    @Mock
+    private HotStockEngine hotStockEngine;
+
+    @Mock
+    private BeerChangeService beerChangeService;
+
+    @Mock
+    private BeerNameCache beerNameCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    @InjectMocks
+    private ReactiveBeerService beerService;
+
+    @Test
+    void whenBeerInformedThenItShouldBeCreatedThroughTheBlockingService() throws Exception {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        //when
+        when(blockingBeerService.createBeer(expectedBeerDTO)).thenReturn(expectedBeerDTO);
+        //then
+        StepVerifier.create(beerService.createBeer(expectedBeerDTO))
+                .expectNext(expectedBeerDTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenAlreadyRegisteredBeerInformedThenAnExceptionShouldBeThrown() throws Exception {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        //when
+        when(blockingBeerService.createBeer(expectedBeerDTO)).thenThrow(new BeerAlreadyRegisteredException(expectedBeerDTO.getName()));
+        //then
+        StepVerifier.create(beerService.createBeer(expectedBeerDTO))
+                .verifyError(BeerAlreadyRegisteredException.class);
+    }
+
+    @Test
+    void whenNotRegisteredBeerNameIsGivenThenThrowAnException() {
+        //given
+        BeerDTO expectedFoundBeerDTO = getBeerDTO();
+        //when
+        when(beerRepository.findByNameKey("brahma")).thenReturn(Mono.empty());
+        //then
+        StepVerifier.create(beerService.findByName(expectedFoundBeerDTO.getName()))
+                .verifyError(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenListBeerIsCalledThenReturnAStreamOfBeers() {
+        //given
+        BeerDTO expectedFoundBeerDTO = getBeerDTO();
+        Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+        //when
+        when(beerRepository.findAll()).thenReturn(Flux.just(expectedFoundBeer));
+        //then
+        StepVerifier.create(beerService.listAll())
+                .expectNext(expectedFoundBeerDTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenExclusionIsCalledWithInvalidIdThenExceptionShouldBeThrown() throws Exception {
+        //when
+        doThrow(new BeerNotFoundException(INVALID_BEER_ID)).when(blockingBeerService).deleteById(INVALID_BEER_ID);
+        //then
+        StepVerifier.create(beerService.deleteById(INVALID_BEER_ID))
+                .verifyError(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenIncrementIsGreatherThanMaxThenThrowException() {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        Beer expectedBeer = beerMapper.toModel(expectedBeerDTO);
+        int quantityToIncrement = 80;
+        //when
+        when(beerRepository.incrementQuantity(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(Mono.empty());
+        when(beerRepository.findById(expectedBeerDTO.getId())).thenReturn(Mono.just(expectedBeer));
+        when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Beer>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+        //then
+        StepVerifier.create(beerService.increment(expectedBeerDTO.getId(), quantityToIncrement))
+                .verifyError(BeerStockExceededException.class);
+        verifyNoInteractions(beerChangeService, eventPublisher);
+    }
+
+    @Test
+    void whenIncrementIsCalledWithInvalidIdThenExceptionShouldBeThrown() {
+        //when
+        when(beerRepository.incrementQuantity(INVALID_BEER_ID, 10)).thenReturn(Mono.empty());
+        when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Beer>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+        //then
+        StepVerifier.create(beerService.increment(INVALID_BEER_ID, 10))
+                .verifyError(BeerNotFoundException.class);
+    }
+
+    @Test
+    void whenDecrementIsCalledThenDecrementBeerStock() {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        int quantityToDecrement = 5;
+        Beer decrementedBeer = beerMapper.toModel(expectedBeerDTO);
+        decrementedBeer.setQuantity(expectedBeerDTO.getQuantity() - quantityToDecrement);
+        //when
+        when(beerRepository.decrementQuantity(expectedBeerDTO.getId(), quantityToDecrement)).thenReturn(Mono.just(decrementedBeer));
+        when(beerChangeService.reserve(1)).thenReturn(42L);
+        when(beerRepository.insertChange(42L, decrementedBeer, BeerChangeType.DECREMENTED, -quantityToDecrement)).thenReturn(Mono.empty());
+        when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Beer>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+        //then
+        StepVerifier.create(beerService.decrement(expectedBeerDTO.getId(), quantityToDecrement))
+                .expectNextMatches(beerDTO -> beerDTO.getQuantity() == expectedBeerDTO.getQuantity() - quantityToDecrement)
+                .verifyComplete();
+        verify(beerChangeService).release(42L);
+        verify(eventPublisher).publishEvent(ArgumentMatchers.<BeerStockEventDTO>argThat(event ->
+                event.getDelta() == -quantityToDecrement && event.getChange() == BeerChangeType.DECREMENTED));
+        verify(beerNameCache).invalidate(expectedBeerDTO.getName());
+        verifyNoInteractions(blockingBeerService);
+    }
+
+    @Test
+    void whenHotBeerIsIncrementedThenTheInMemoryCounterIsChanged() throws Exception {
+        //given
+        BeerDTO expectedBeerDTO = getBeerDTO();
+        int quantityToIncrement = 5;
+        BeerDTO incrementedBeerDTO = BeerDTOBuilder.builder().quantity(expectedBeerDTO.getQuantity() + quantityToIncrement).build().toBeerDTO();
+        //when
+        when(hotStockEngine.isHot(expectedBeerDTO.getId())).thenReturn(true);
+        when(hotStockEngine.apply(expectedBeerDTO.getId(), quantityToIncrement)).thenReturn(incrementedBeerDTO);
+        //then
+        StepVerifier.create(beerService.increment(expectedBeerDTO.getId(), quantityToIncrement))
+                .expectNext(incrementedBeerDTO)
+                .verifyComplete();
+        verifyNoInteractions(transactionalOperator, beerChangeService);
+    }
+
+    @Test
+    void whenHotBeerIsFoundThenItsInMemoryQuantityIsReturned() {
+        //given
+        BeerDTO expectedFoundBeerDTO = getBeerDTO();
+        Beer expectedFoundBeer = beerMapper.toModel(expectedFoundBeerDTO);
+        //when
+        when(beerRepository.findByNameKey("brahma")).thenReturn(Mono.just(expectedFoundBeer));
+        doAnswer(invocation -> {
+            invocation.<BeerDTO>getArgument(0).setQuantity(3);
+            return null;
+        }).when(hotStockEngine).applyInMemoryQuantity(ArgumentMatchers.<BeerDTO>any());
+        //then
+        StepVerifier.create(beerService.findByName(expectedFoundBeerDTO.getName()))
+                .expectNextMatches(beerDTO -> beerDTO.getQuantity() == 3)
+                .verifyComplete();
+    }
+
+    private BeerDTO getBeerDTO() {
+        return BeerDTOBuilder.builder().build().toBeerDTO();
+    }
+}
@@ -0,0 +1,181 @@
+package com.severo.beerstock.service;
+
+import com.severo.beerstock.dto.StockReservationDTO;
+import com.severo.beerstock.dto.StockReservationRequestDTO;
+import com.severo.beerstock.entity.StockReservation;
+import com.severo.beerstock.enums.ReservationStatus;
+import com.severo.beerstock.exception.BeerStockExceededException;
+import com.severo.beerstock.exception.StockReservationNotActiveException;
+import com.severo.beerstock.exception.StockReservationNotFoundException;
+import com.severo.beerstock.exception.StockReservationNotSupportedException;
+import com.severo.beerstock.repository.BeerRepository;
+import com.severo.beerstock.repository.StockReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    private static final long VALID_BEER_ID = 1L;
+    private static final long VALID_RESERVATION_ID = 10L;
+    private static final long INVALID_RESERVATION_ID = 20L;
+    private static final int RESERVED_QUANTITY = 5;
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private BeerChangeService beerChangeService;
+
+    @Mock
+    private HotStockEngine hotStockEngine;
+
+    @Mock
+    private BeerNameCache beerNameCache;
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    @Test
+    void whenStockIsAvailableThenAReservationIsCreated() throws Exception {
+        //given
+        StockReservationRequestDTO request = new StockReservationRequestDTO(VALID_BEER_ID, RESERVED_QUANTITY, 60L);
+        //when
+        when(beerRepository.reserveQuantity(VALID_BEER_ID, RESERVED_QUANTITY)).thenReturn(1);
+        when(stockReservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> {
+            StockReservation reservation = invocation.getArgument(0);
+            reservation.setId(VALID_RESERVATION_ID);
+            return reservation;
+        });
+        //then
+        StockReservationDTO reservation = stockReservationService.reserve(request);
+
+        assertThat(reservation.getId(), is(equalTo(VALID_RESERVATION_ID)));
+        assertThat(reservation.getStatus(), is(ReservationStatus.ACTIVE));
+        assertThat(reservation.getExpiresAt().isAfter(Instant.now()), is(true));
+    }
+
+    @Test
+    void whenStockIsNotAvailableThenAnExceptionShouldBeThrown() {
+        //given
+        StockReservationRequestDTO request = new StockReservationRequestDTO(VALID_BEER_ID, RESERVED_QUANTITY, 60L);
+        //when
+        when(beerRepository.reserveQuantity(VALID_BEER_ID, RESERVED_QUANTITY)).thenReturn(0);
+        when(beerRepository.existsById(VALID_BEER_ID)).thenReturn(true);
+        //then
+        assertThrows(BeerStockExceededException.class, () -> stockReservationService.reserve(request));
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void whenHotBeerIsReservedThenAnExceptionShouldBeThrown() {
+        //given
+        StockReservationRequestDTO request = new StockReservationRequestDTO(VALID_BEER_ID, RESERVED_QUANTITY, 60L);
+        //when
+        when(hotStockEngine.isHot(VALID_BEER_ID)).thenReturn(true);
+        //then
+        assertThrows(StockReservationNotSupportedException.class, () -> stockReservationService.reserve(request));
+        verify(beerRepository, never()).reserveQuantity(VALID_BEER_ID, RESERVED_QUANTITY);
+    }
+
+    @Test
+    void whenReservationOfHotBeerIsConfirmedThenAnExceptionShouldBeThrown() {
+        //given
+        StockReservation reservation = activeReservation(Instant.now().plusSeconds(60));
+        //when
+        when(stockReservationRepository.findById(VALID_RESERVATION_ID)).thenReturn(Optional.of(reservation));
+        when(hotStockEngine.isHot(VALID_BEER_ID)).thenReturn(true);
+        //then
+        assertThrows(StockReservationNotSupportedException.class, () -> stockReservationService.confirm(VALID_RESERVATION_ID));
+        verify(stockReservationRepository, never()).updateStatus(VALID_RESERVATION_ID, ReservationStatus.ACTIVE, ReservationStatus.CONFIRMED);
+        verify(beerRepository, never()).consumeReservedQuantity(VALID_BEER_ID, RESERVED_QUANTITY);
+    }
+
+    @Test
+    void whenActiveReservationIsConfirmedThenReservedStockIsConsumed() throws Exception {
+        //given
+        StockReservation reservation = activeReservation(Instant.now().plusSeconds(60));
+        //when
+        when(stockReservationRepository.findById(VALID_RESERVATION_ID)).thenReturn(Optional.of(reservation));
+        when(stockReservationRepository.updateStatus(VALID_RESERVATION_ID, ReservationStatus.ACTIVE, ReservationStatus.CONFIRMED)).thenReturn(1);
+        when(beerRepository.consumeReservedQuantity(VALID_BEER_ID, RESERVED_QUANTITY)).thenReturn(1);
+        //then
+        StockReservationDTO confirmedReservation = stockReservationService.confirm(VALID_RESERVATION_ID);
+
+        assertThat(confirmedReservation.getStatus(), is(ReservationStatus.CONFIRMED));
+    }
+
+    @Test
+    void whenActiveReservationIsReleasedThenReservedStockIsReturned() throws Exception {
+        //given
+        StockReservation reservation = activeReservation(Instant.now().plusSeconds(60));
+        //when
+        when(stockReservationRepository.findById(VALID_RESERVATION_ID)).thenReturn(Optional.of(reservation));
+        when(stockReservationRepository.updateStatus(VALID_RESERVATION_ID, ReservationStatus.ACTIVE, ReservationStatus.RELEASED)).thenReturn(1);
+        //then
+        StockReservationDTO releasedReservation = stockReservationService.release(VALID_RESERVATION_ID);
+
+        assertThat(releasedReservation.getStatus(), is(ReservationStatus.RELEASED));
+        verify(beerRepository, times(1)).releaseReservedQuantity(VALID_BEER_ID, RESERVED_QUANTITY);
+    }
+
+    @Test
+    void whenExpiredReservationIsConfirmedThenItIsExpiredAndAnExceptionShouldBeThrown() {
+        //given
+        StockReservation reservation = activeReservation(Instant.now().minusSeconds(1));
+        //when
+        when(stockReservationRepository.findById(VALID_RESERVATION_ID)).thenReturn(Optional.of(reservation));
+        when(stockReservationRepository.updateStatus(VALID_RESERVATION_ID, ReservationStatus.ACTIVE, ReservationStatus.EXPIRED)).thenReturn(1);
+        //then
+        assertThrows(StockReservationNotActiveException.class, () -> stockReservationService.confirm(VALID_RESERVATION_ID));
+        verify(beerRepository, times(1)).releaseReservedQuantity(VALID_BEER_ID, RESERVED_QUANTITY);
+        verify(beerRepository, never()).consumeReservedQuantity(VALID_BEER_ID, RESERVED_QUANTITY);
+    }
+
+    @Test
+    void whenUnknownReservationIsReleasedThenAnExceptionShouldBeThrown() {
+        //given
+        //when
+        when(stockReservationRepository.findById(INVALID_RESERVATION_ID)).thenReturn(Optional.empty());
+        //then
+        assertThrows(StockReservationNotFoundException.class, () -> stockReservationService.release(INVALID_RESERVATION_ID));
+    }
+
+    @Test
+    void whenExpiredReservationsAreSweptThenTheirStockIsReleased() {
+        //given
+        StockReservation firstReservation = activeReservation(Instant.now().minusSeconds(10));
+        StockReservation secondReservation = activeReservation(Instant.now().minusSeconds(5));
+        secondReservation.setId(VALID_RESERVATION_ID + 1);
+        //when
+        when(stockReservationRepository.findByStatusAndExpiresAtBefore(eq(ReservationStatus.ACTIVE), any(Instant.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(firstReservation, secondReservation));
+        when(stockReservationRepository.updateStatus(anyLong(), eq(ReservationStatus.ACTIVE), eq(ReservationStatus.EXPIRED))).thenReturn(1);
+        //then
+        int expired = stockReservationService.expireBatch(10);
+
+        assertThat(expired, is(equalTo(2)));
+        verify(beerRepository, times(2)).releaseReservedQuantity(VALID_BEER_ID, RESERVED_QUANTITY);
+    }
+
+    private StockReservation activeReservation(Instant expiresAt) {
+        return new StockReservation(VALID_RESERVATION_ID, VALID_BEER_ID, RESERVED_QUANTITY, ReservationStatus.ACTIVE, expiresAt);
+    }
+}
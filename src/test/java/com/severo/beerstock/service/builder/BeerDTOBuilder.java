@@ -17,7 +17,11 @@ public class BeerDTOBuilder {
     @Builder.Default
     private int quantity = 10;
     @Builder.Default
+    private int reorderThreshold = 0;
+    @Builder.Default
     private BeerType type = BeerType.LAGER;
+    @Builder.Default
+    private Long version = null;
 
     public BeerDTO toBeerDTO() {
         return new BeerDTO(
@@ -26,6 +30,8 @@ public class BeerDTOBuilder {
                 brand,
                 max,
                 quantity,
-                type);
+                reorderThreshold,
+                type,
+                version);
     }
 }
@@ -0,0 +1,59 @@
+package com.severo.beerstock.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class AimdConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AimdConcurrencyLimiter concurrencyLimiter = new AimdConcurrencyLimiter(10, 1, 20, THRESHOLD, 0.5);
+
+    @Test
+    void whenLimitIsReachedThenFurtherCallsAreRejected() {
+        //given
+        for (int i = 0; i < 10; i++) {
+            assertThat(concurrencyLimiter.tryAcquire(), is(true));
+        }
+        //when
+        boolean acquired = concurrencyLimiter.tryAcquire();
+        //then
+        assertThat(acquired, is(false));
+        assertThat(concurrencyLimiter.getInFlight(), is(equalTo(10)));
+    }
+
+    @Test
+    void whenBusyCallsCompleteQuicklyThenLimitGrows() {
+        //given
+        for (int i = 0; i < 10; i++) {
+            concurrencyLimiter.tryAcquire();
+        }
+        //when
+        concurrencyLimiter.onComplete(0, THRESHOLD / 2, false);
+        //then
+        assertThat(concurrencyLimiter.getLimit(), is(equalTo(11)));
+        assertThat(concurrencyLimiter.getInFlight(), is(equalTo(9)));
+    }
+
+    @Test
+    void whenCallsAreSlowThenLimitBacksOffOncePerSlowSpell() {
+        //given
+        for (int i = 0; i < 3; i++) {
+            concurrencyLimiter.tryAcquire();
+        }
+        //when
+        concurrencyLimiter.onComplete(1, 1 + THRESHOLD * 2, false);
+        concurrencyLimiter.onComplete(2, 2 + THRESHOLD * 2, false);
+        //then
+        assertThat(concurrencyLimiter.getLimit(), is(equalTo(5)));
+        //when
+        concurrencyLimiter.onComplete(3 + THRESHOLD * 2, 3 + THRESHOLD * 2, true);
+        //then
+        assertThat(concurrencyLimiter.getLimit(), is(equalTo(2)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.severo.beerstock.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class GcraRateLimiterTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final GcraRateLimiter rateLimiter = new GcraRateLimiter(1024, 10, 3);
+
+    @Test
+    void whenBurstIsUsedUpThenTheNextRequestWaitsForOneToken() {
+        //given
+        long now = ONE_SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(1L, now), is(equalTo(0L)));
+        }
+        //when
+        long waitNanos = rateLimiter.tryAcquire(1L, now);
+        //then
+        assertThat(waitNanos, is(equalTo(ONE_SECOND / 10)));
+    }
+
+    @Test
+    void whenTokenHasRefilledThenRequestIsAllowedAgain() {
+        //given
+        long now = ONE_SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(1L, now);
+        }
+        //when
+        long waitNanos = rateLimiter.tryAcquire(1L, now + ONE_SECOND / 10);
+        //then
+        assertThat(waitNanos, is(equalTo(0L)));
+        assertThat(rateLimiter.tryAcquire(1L, now + ONE_SECOND / 10), is(equalTo(ONE_SECOND / 10)));
+    }
+
+    @Test
+    void whenOneKeyIsLimitedThenOtherKeysAreNot() {
+        //given
+        long now = ONE_SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(1L, now);
+        }
+        //when
+        long waitNanos = rateLimiter.tryAcquire(2L, now);
+        //then
+        assertThat(waitNanos, is(equalTo(0L)));
+        assertThat(rateLimiter.drainingBuckets(now), is(equalTo(2)));
+        assertThat(rateLimiter.drainingBuckets(now + ONE_SECOND), is(equalTo(0)));
+    }
+}
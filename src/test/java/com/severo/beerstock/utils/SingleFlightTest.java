@@ -0,0 +1,128 @@
+package com.severo.beerstock.utils;
+
+import com.severo.beerstock.exception.BeerNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, List<String>> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS + 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void whenIdenticalCallsAreInFlightThenTheyShareOneResult() throws Exception {
+        //given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        CompletableFuture<List<String>> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("beers", () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return new ArrayList<>(List.of("Brahma"));
+        }), executor);
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        //when
+        List<CompletableFuture<List<String>>> followers = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            followers.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("beers", () -> {
+                executions.incrementAndGet();
+                return new ArrayList<>();
+            }), executor));
+        }
+        awaitFollowersJoined();
+        releaseLeader.countDown();
+        //then
+        List<String> leaderResult = leader.get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<List<String>> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS), is(sameInstance(leaderResult)));
+        }
+        assertThat(executions.get(), is(equalTo(1)));
+        assertThat(singleFlight.coalescingRatio(), is(equalTo((double) CALLERS / (CALLERS + 1))));
+    }
+
+    @Test
+    void whenCallFailsThenWaitingCallersGetTheSameException() throws Exception {
+        //given
+        SingleFlight<String, String> failingFlight = new SingleFlight<>("failing", meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> callFailing(failingFlight, () -> {
+            leaderStarted.countDown();
+            await(releaseLeader);
+            throw new BeerNotFoundException("Brahma");
+        }), executor);
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        //when
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> callFailing(failingFlight, () -> "never"), executor);
+        while (meterRegistry.get("beer.singleflight.calls").tag("flight", "failing").tag("role", "follower").counter().count() < 1) {
+            Thread.sleep(1);
+        }
+        releaseLeader.countDown();
+        //then
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertThat(leaderFailure.getCause().getCause(), is(instanceOf(BeerNotFoundException.class)));
+        assertThat(followerFailure.getCause().getCause(), is(sameInstance(leaderFailure.getCause().getCause())));
+    }
+
+    @Test
+    void whenCallHasCompletedThenTheNextCallRunsAgain() {
+        //given
+        AtomicInteger executions = new AtomicInteger();
+        //when
+        singleFlight.execute("beers", () -> List.of(String.valueOf(executions.incrementAndGet())));
+        List<String> secondResult = singleFlight.execute("beers", () -> List.of(String.valueOf(executions.incrementAndGet())));
+        //then
+        assertThat(secondResult, is(equalTo(List.of("2"))));
+        assertThat(singleFlight.coalescingRatio(), is(equalTo(0.0)));
+    }
+
+    private void awaitFollowersJoined() throws InterruptedException {
+        while (meterRegistry.get("beer.singleflight.calls").tag("flight", "test").tag("role", "follower").counter().count() < CALLERS) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static String callFailing(SingleFlight<String, String> flight, SingleFlight.Call<String, BeerNotFoundException> call) {
+        try {
+            return flight.execute("beer", call);
+        } catch (BeerNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}